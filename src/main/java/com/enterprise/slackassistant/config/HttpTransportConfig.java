@@ -0,0 +1,137 @@
+package com.enterprise.slackassistant.config;
+
+import com.enterprise.slackassistant.service.HttpTransportMetrics;
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.util.http.SlackHttpClient;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One OkHttp client shared by the Slack MethodsClient and RestClient-based clients such as Spring AI's
+ * OpenAI client, so they draw from the same sized connection pool, negotiate HTTP/2 where the server
+ * supports it and reuse DNS lookups. TLS sessions are resumed through the JVM's default client session
+ * cache. Spring AI 0.8.1 streams chat completions through its own internal WebClient, which this
+ * transport cannot reach.
+ */
+@Configuration
+public class HttpTransportConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpTransportConfig.class);
+
+    @Bean
+    public OkHttpClient sharedHttpClient(HttpTransportProperties properties, HttpTransportMetrics metrics) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(properties.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(properties.getMaxRequestsPerHost());
+
+        List<Protocol> protocols = properties.isHttp2Enabled()
+                ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                : List.of(Protocol.HTTP_1_1);
+
+        log.info("Shared HTTP transport | http2={} pool={} keepAlive={}s maxPerHost={}",
+                properties.isHttp2Enabled(), properties.getMaxIdleConnections(),
+                properties.getKeepAliveSeconds(), properties.getMaxRequestsPerHost());
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(properties.getMaxIdleConnections(),
+                        properties.getKeepAliveSeconds(), TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .protocols(protocols)
+                .dns(new CachingDns(Dns.SYSTEM, Duration.ofSeconds(properties.getDnsCacheTtlSeconds()),
+                        Duration.ofSeconds(properties.getDnsNegativeTtlSeconds())))
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .readTimeout(Duration.ofMillis(properties.getReadTimeoutMs()))
+                .eventListenerFactory(metrics)
+                .build();
+    }
+
+    @Bean
+    public Slack slack(OkHttpClient sharedHttpClient, SlackProperties slackProperties) {
+        SlackConfig slackConfig = new SlackConfig();
+        if (slackProperties.getMethodsEndpointUrlPrefix() != null && !slackProperties.getMethodsEndpointUrlPrefix().isBlank()) {
+            slackConfig.setMethodsEndpointUrlPrefix(slackProperties.getMethodsEndpointUrlPrefix());
+        }
+        return Slack.getInstance(slackConfig, new SlackHttpClient(sharedHttpClient));
+    }
+
+    /** Routes RestClients built by Spring Boot, including the Spring AI OpenAI client's, through the shared OkHttp client. */
+    @Bean
+    public RestClientCustomizer sharedTransportRestClientCustomizer(OkHttpClient sharedHttpClient) {
+        return builder -> builder.requestFactory(new OkHttpClientHttpRequestFactory(sharedHttpClient));
+    }
+
+    /**
+     * Caches lookups in front of another resolver: successful ones for {@code ttl}, failed ones for the
+     * shorter {@code negativeTtl} so an unresolvable host is not looked up on every call. Expired entries
+     * are evicted whenever a host is resolved, so the cache only holds hosts seen within the TTL.
+     */
+    static class CachingDns implements Dns {
+        private final Dns delegate;
+        private final Duration ttl;
+        private final Duration negativeTtl;
+        private final Map<String, CachedLookup> cache = new ConcurrentHashMap<>();
+
+        CachingDns(Dns delegate, Duration ttl, Duration negativeTtl) {
+            this.delegate = delegate;
+            this.ttl = ttl;
+            this.negativeTtl = negativeTtl;
+        }
+
+        @Override
+        public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+            CachedLookup cached = cache.get(hostname);
+            long now = System.nanoTime();
+            if (cached != null && now - cached.expiresAtNanos < 0) {
+                if (cached.addresses == null) {
+                    throw new UnknownHostException(cached.failure);
+                }
+                return cached.addresses;
+            }
+
+            cache.values().removeIf(lookup -> now - lookup.expiresAtNanos >= 0);
+            try {
+                List<InetAddress> addresses = delegate.lookup(hostname);
+                cache.put(hostname, new CachedLookup(addresses, null, now + ttl.toNanos()));
+                return addresses;
+            } catch (UnknownHostException e) {
+                if (!negativeTtl.isZero()) {
+                    cache.put(hostname, new CachedLookup(null, e.getMessage(), now + negativeTtl.toNanos()));
+                }
+                throw e;
+            }
+        }
+
+        int size() {
+            return cache.size();
+        }
+
+        private static class CachedLookup {
+            private final List<InetAddress> addresses;
+            private final String failure;
+            private final long expiresAtNanos;
+
+            CachedLookup(List<InetAddress> addresses, String failure, long expiresAtNanos) {
+                this.addresses = addresses;
+                this.failure = failure;
+                this.expiresAtNanos = expiresAtNanos;
+            }
+        }
+    }
+}
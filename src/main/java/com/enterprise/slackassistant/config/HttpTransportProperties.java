@@ -0,0 +1,139 @@
+package com.enterprise.slackassistant.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "http-transport")
+public class HttpTransportProperties {
+
+    private boolean http2Enabled = true;
+    private int maxIdleConnections = 20;
+    private long keepAliveSeconds = 300;
+    private int maxRequests = 128;
+    private int maxRequestsPerHost = 32;
+    private long connectTimeoutMs = 5000;
+    private long readTimeoutMs = 60000;
+    private long dnsCacheTtlSeconds = 60;
+    private long dnsNegativeTtlSeconds = 5;
+    private final Warmup warmup = new Warmup();
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(long keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(long connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public long getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    public void setReadTimeoutMs(long readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    public long getDnsCacheTtlSeconds() {
+        return dnsCacheTtlSeconds;
+    }
+
+    public void setDnsCacheTtlSeconds(long dnsCacheTtlSeconds) {
+        this.dnsCacheTtlSeconds = dnsCacheTtlSeconds;
+    }
+
+    /** How long a failed lookup is remembered; 0 disables negative caching. */
+    public long getDnsNegativeTtlSeconds() {
+        return dnsNegativeTtlSeconds;
+    }
+
+    public void setDnsNegativeTtlSeconds(long dnsNegativeTtlSeconds) {
+        this.dnsNegativeTtlSeconds = dnsNegativeTtlSeconds;
+    }
+
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    public static class Warmup {
+
+        private boolean enabled;
+        private List<String> urls = new ArrayList<>();
+        private int connectionsPerUrl = 2;
+        private long timeoutMs = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getUrls() {
+            return urls;
+        }
+
+        public void setUrls(List<String> urls) {
+            this.urls = urls;
+        }
+
+        public int getConnectionsPerUrl() {
+            return connectionsPerUrl;
+        }
+
+        public void setConnectionsPerUrl(int connectionsPerUrl) {
+            this.connectionsPerUrl = connectionsPerUrl;
+        }
+
+        /** Upper bound on how long warm-up may hold up startup; calls still running are cancelled. */
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+    }
+}
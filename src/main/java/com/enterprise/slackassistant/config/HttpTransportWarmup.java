@@ -0,0 +1,92 @@
+package com.enterprise.slackassistant.config;
+
+import com.enterprise.slackassistant.service.HttpTransportMetrics;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Opens pooled connections to the configured hosts before the application reports ready. Runners
+ * complete before ApplicationReadyEvent, so readiness only flips once the TLS handshakes are done, or
+ * once the warm-up timeout has passed. Any HTTP status counts as warm; only connection failures are
+ * logged. Warm-up runs once: its executor is shut down afterwards.
+ */
+@Component
+public class HttpTransportWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpTransportWarmup.class);
+
+    private final OkHttpClient sharedHttpClient;
+    private final HttpTransportProperties properties;
+    private final HttpTransportMetrics metrics;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public HttpTransportWarmup(OkHttpClient sharedHttpClient, HttpTransportProperties properties,
+                               HttpTransportMetrics metrics) {
+        this.sharedHttpClient = sharedHttpClient;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        HttpTransportProperties.Warmup warmup = properties.getWarmup();
+        try {
+            if (warmup.isEnabled() && !warmup.getUrls().isEmpty()) {
+                warmUp(warmup);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void warmUp(HttpTransportProperties.Warmup warmup) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        for (String url : warmup.getUrls()) {
+            for (int i = 0; i < warmup.getConnectionsPerUrl(); i++) {
+                calls.add(CompletableFuture.runAsync(() -> warm(url, warmup.getTimeoutMs()), executor));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).get(warmup.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            log.info("[TRANSPORT] Warm-up complete | urls={} | {} ms | {}",
+                    warmup.getUrls().size(), (System.nanoTime() - start) / 1_000_000, metrics.snapshot());
+        } catch (TimeoutException e) {
+            log.warn("[TRANSPORT] Warm-up incomplete after {} ms - continuing startup | {}",
+                    warmup.getTimeoutMs(), metrics.snapshot());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("[TRANSPORT] Warm-up failed: {}", e.getCause().getMessage());
+        }
+    }
+
+    private void warm(String url, long timeoutMs) {
+        Request request = new Request.Builder().url(url).head().build();
+        Call call = sharedHttpClient.newCall(request);
+        // Bounds DNS, connect, TLS and response together, so nothing outlives the warm-up
+        call.timeout().timeout(timeoutMs, TimeUnit.MILLISECONDS);
+        try (Response response = call.execute()) {
+            log.debug("[TRANSPORT] Warmed {} | status={} protocol={}", url, response.code(), response.protocol());
+        } catch (Exception e) {
+            log.warn("[TRANSPORT] Warm-up failed for {}: {}", url, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.enterprise.slackassistant.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "metering")
+public class MeteringProperties {
+
+    private long bucketSeconds = 60;
+    private long retentionMinutes = 1440;
+    private String fallbackModel = "gpt-4o-mini";
+    private long reservedCompletionTokens = 1000;
+    private Map<String, Budget> budgets = new LinkedHashMap<>();
+
+    public long getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public void setBucketSeconds(long bucketSeconds) {
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    public long getRetentionMinutes() {
+        return retentionMinutes;
+    }
+
+    public void setRetentionMinutes(long retentionMinutes) {
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    public String getFallbackModel() {
+        return fallbackModel;
+    }
+
+    public void setFallbackModel(String fallbackModel) {
+        this.fallbackModel = fallbackModel;
+    }
+
+    /**
+     * Completion tokens reserved per call on top of the prompt estimate while the call is in flight, so
+     * concurrent calls cannot overshoot a budget; the reservation is replaced by the actual usage afterwards.
+     */
+    public long getReservedCompletionTokens() {
+        return reservedCompletionTokens;
+    }
+
+    public void setReservedCompletionTokens(long reservedCompletionTokens) {
+        this.reservedCompletionTokens = reservedCompletionTokens;
+    }
+
+    /** Keyed by channel name or product id; a channel budget replaces its product's rather than adding to it. */
+    public Map<String, Budget> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(Map<String, Budget> budgets) {
+        this.budgets = budgets;
+    }
+
+    /**
+     * DOWNGRADE switches to the fallback model. CACHE_ONLY answers first-turn questions without API data
+     * from the response cache and refuses everything else, since only those answers are cached.
+     */
+    public enum BudgetAction { DOWNGRADE, CACHE_ONLY }
+
+    public static class Budget {
+
+        private long tokensPerDay;
+        private BudgetAction action = BudgetAction.DOWNGRADE;
+
+        public long getTokensPerDay() {
+            return tokensPerDay;
+        }
+
+        public void setTokensPerDay(long tokensPerDay) {
+            this.tokensPerDay = tokensPerDay;
+        }
+
+        public BudgetAction getAction() {
+            return action;
+        }
+
+        public void setAction(BudgetAction action) {
+            this.action = action;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.enterprise.slackassistant.config;
+
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * Spring {@link ClientHttpRequestFactory} over a caller-owned {@link OkHttpClient}. Spring's own
+ * OkHttp3ClientHttpRequestFactory is deprecated for removal in 6.1; this keeps RestClient traffic on the
+ * shared pool without it. Request bodies are buffered, as RestClient writes them before execution.
+ */
+public final class OkHttpClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private static final Set<String> BODY_REQUIRED = Set.of("POST", "PUT", "PATCH");
+
+    private final OkHttpClient client;
+
+    public OkHttpClientHttpRequestFactory(OkHttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new OkHttpRequest(client, uri, httpMethod);
+    }
+
+    private static class OkHttpRequest implements ClientHttpRequest {
+        private final OkHttpClient client;
+        private final URI uri;
+        private final HttpMethod method;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream(1024);
+        private boolean executed;
+
+        OkHttpRequest(OkHttpClient client, URI uri, HttpMethod method) {
+            this.client = client;
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return executed ? HttpHeaders.readOnlyHttpHeaders(headers) : headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            if (executed) {
+                throw new IllegalStateException("ClientHttpRequest already executed");
+            }
+            return content;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            if (executed) {
+                throw new IllegalStateException("ClientHttpRequest already executed");
+            }
+            executed = true;
+            byte[] content = this.content.toByteArray();
+            MediaType contentType = headers.getContentType() != null ? MediaType.parse(headers.getContentType().toString()) : null;
+            RequestBody body = content.length > 0 || BODY_REQUIRED.contains(method.name())
+                    ? RequestBody.create(content, contentType)
+                    : null;
+
+            Request.Builder builder = new Request.Builder().url(uri.toURL()).method(method.name(), body);
+            headers.forEach((name, values) -> values.forEach(value -> builder.addHeader(name, value)));
+            Call call = client.newCall(builder.build());
+            return new OkHttpResponse(call.execute());
+        }
+    }
+
+    private static class OkHttpResponse implements ClientHttpResponse {
+        private final Response response;
+        private HttpHeaders headers;
+
+        OkHttpResponse(Response response) {
+            this.response = response;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(response.code());
+        }
+
+        @Override
+        public String getStatusText() {
+            return response.message();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                HttpHeaders copy = new HttpHeaders();
+                response.headers().forEach(header -> copy.add(header.getFirst(), header.getSecond()));
+                headers = HttpHeaders.readOnlyHttpHeaders(copy);
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            ResponseBody body = response.body();
+            return body != null ? body.byteStream() : InputStream.nullInputStream();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
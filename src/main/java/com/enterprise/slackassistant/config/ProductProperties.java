@@ -0,0 +1,144 @@
+package com.enterprise.slackassistant.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "products")
+public class ProductProperties {
+
+    private Map<String, ProductDefinition> definitions = new LinkedHashMap<>();
+    private long apiTimeoutMs = 2000;
+    private long apiCacheTtlSeconds = 30;
+    private long ragPrefixMaxTokens = 16000;
+    private int ragTopK = 4;
+
+    public Map<String, ProductDefinition> getDefinitions() {
+        return definitions;
+    }
+
+    public void setDefinitions(Map<String, ProductDefinition> definitions) {
+        this.definitions = definitions;
+    }
+
+    public long getApiTimeoutMs() {
+        return apiTimeoutMs;
+    }
+
+    public void setApiTimeoutMs(long apiTimeoutMs) {
+        this.apiTimeoutMs = apiTimeoutMs;
+    }
+
+    public long getApiCacheTtlSeconds() {
+        return apiCacheTtlSeconds;
+    }
+
+    public void setApiCacheTtlSeconds(long apiCacheTtlSeconds) {
+        this.apiCacheTtlSeconds = apiCacheTtlSeconds;
+    }
+
+    public long getRagPrefixMaxTokens() {
+        return ragPrefixMaxTokens;
+    }
+
+    public void setRagPrefixMaxTokens(long ragPrefixMaxTokens) {
+        this.ragPrefixMaxTokens = ragPrefixMaxTokens;
+    }
+
+    public int getRagTopK() {
+        return ragTopK;
+    }
+
+    public void setRagTopK(int ragTopK) {
+        this.ragTopK = ragTopK;
+    }
+
+    /** Returns the product id whose channel list contains the given channel name, or null. */
+    public String findProductByChannel(String channelName) {
+        if (channelName == null) {
+            return null;
+        }
+        for (Map.Entry<String, ProductDefinition> entry : definitions.entrySet()) {
+            if (entry.getValue().getChannels().contains(channelName)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    public static class ProductDefinition {
+
+        private List<String> channels = new ArrayList<>();
+        private String intentMappingFile;
+        private String apiBaseUrl;
+        private String ragDocsFile;
+        private String ragCorpusFile;
+        private List<String> mutatingApis = new ArrayList<>();
+        private long mockDelayMs;
+
+        public List<String> getChannels() {
+            return channels;
+        }
+
+        public void setChannels(List<String> channels) {
+            this.channels = channels;
+        }
+
+        public String getIntentMappingFile() {
+            return intentMappingFile;
+        }
+
+        public void setIntentMappingFile(String intentMappingFile) {
+            this.intentMappingFile = intentMappingFile;
+        }
+
+        public String getApiBaseUrl() {
+            return apiBaseUrl;
+        }
+
+        public void setApiBaseUrl(String apiBaseUrl) {
+            this.apiBaseUrl = apiBaseUrl;
+        }
+
+        public String getRagDocsFile() {
+            return ragDocsFile;
+        }
+
+        public void setRagDocsFile(String ragDocsFile) {
+            this.ragDocsFile = ragDocsFile;
+        }
+
+        /** Filesystem path of a converted corpus (memory-mapped); takes precedence over rag-docs-file. */
+        public String getRagCorpusFile() {
+            return ragCorpusFile;
+        }
+
+        public void setRagCorpusFile(String ragCorpusFile) {
+            this.ragCorpusFile = ragCorpusFile;
+        }
+
+        /** APIs that change data (create/update). They are never called automatically or cached. */
+        public List<String> getMutatingApis() {
+            return mutatingApis;
+        }
+
+        public void setMutatingApis(List<String> mutatingApis) {
+            this.mutatingApis = mutatingApis;
+        }
+
+        /**
+         * Response delay ProductApiStandIn applies to this product's APIs in local runs and tests. The
+         * service itself always calls api-base-url over HTTP.
+         */
+        public long getMockDelayMs() {
+            return mockDelayMs;
+        }
+
+        public void setMockDelayMs(long mockDelayMs) {
+            this.mockDelayMs = mockDelayMs;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.enterprise.slackassistant.config;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+/**
+ * Matches when no slack.workspaces.installations are configured, i.e. the same single-workspace mode that
+ * WorkspaceInstallationService starts in.
+ */
+class SingleWorkspaceCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return Binder.get(context.getEnvironment())
+                .bind("slack.workspaces.installations", Bindable.mapOf(String.class, String.class))
+                .map(Map::isEmpty)
+                .orElse(true);
+    }
+}
@@ -1,17 +1,25 @@
 package com.enterprise.slackassistant.config;
 
 import com.enterprise.slackassistant.service.ConversationService;
+import com.enterprise.slackassistant.service.IngestionLatencyTracker;
+import com.enterprise.slackassistant.service.LlmRequestContext;
 import com.enterprise.slackassistant.service.LlmService;
 import com.enterprise.slackassistant.service.MessageBufferService;
+import com.enterprise.slackassistant.service.ProductApiService;
 import com.enterprise.slackassistant.service.SlackService;
 import com.enterprise.slackassistant.service.ThreadReminderService;
+import com.enterprise.slackassistant.service.WorkspaceInstallationService;
+import com.enterprise.slackassistant.service.WorkspaceRegistry;
+import com.slack.api.Slack;
 import com.slack.api.bolt.App;
 import com.slack.api.bolt.AppConfig;
+import com.slack.api.bolt.middleware.builtin.MultiTeamsAuthorization;
 import com.slack.api.methods.MethodsClient;
 import com.slack.api.model.event.MessageEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 
@@ -27,16 +35,27 @@ public class SlackConfig {
     private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
 
     @Bean
-    public AppConfig appConfig(SlackProperties slackProperties) {
-        return AppConfig.builder()
-                .singleTeamBotToken(slackProperties.getBotToken())
-                .signingSecret(slackProperties.getSigningSecret())
-                .build();
+    public AppConfig appConfig(SlackProperties slackProperties, Slack slack,
+                               WorkspaceInstallationService installationService) {
+        AppConfig.AppConfigBuilder builder = AppConfig.builder()
+                .slack(slack)
+                .signingSecret(slackProperties.getSigningSecret());
+        // Multi-workspace mode: no single-team token; MultiTeamsAuthorization (see slackApp) looks up each
+        // team's bot token in the installation store
+        if (!installationService.isMultiWorkspace()) {
+            builder.singleTeamBotToken(slackProperties.getBotToken());
+        }
+        return builder.build();
     }
 
+    /**
+     * Single-workspace client. Not registered in multi-workspace mode, where there is no single-team token
+     * and SlackService uses the client of the channel's team instead.
+     */
     @Bean
+    @Conditional(SingleWorkspaceCondition.class)
     public MethodsClient methodsClient(AppConfig appConfig) {
-        return com.slack.api.Slack.getInstance().methods(appConfig.getSingleTeamBotToken());
+        return appConfig.getSlack().methods(appConfig.getSingleTeamBotToken());
     }
 
     @Bean
@@ -45,13 +64,21 @@ public class SlackConfig {
                         @Lazy SlackService slackService,
                         MessageBufferService bufferService,
                         ConversationService conversationService,
-                        ThreadReminderService threadReminderService) {
+                        ThreadReminderService threadReminderService,
+                        ProductApiService productApiService,
+                        ProductProperties productProperties,
+                        IngestionLatencyTracker ingestionLatencyTracker,
+                        WorkspaceInstallationService installationService,
+                        WorkspaceRegistry workspaceRegistry) {
         
         // Setup reminder callback for ThreadReminderService (time-based only)
         threadReminderService.setReminderCallback((threadKey, channelId, threadTs) -> {
             String reminder = ":wave: Just checking in - did the solution work for you? " +
                     "Let me know if you need any more help!";
-            slackService.postMessage(channelId, reminder, threadTs);
+            if (!slackService.postMessage(channelId, reminder, threadTs)) {
+                // Not counted as reminded; the next scheduler tick queues it again
+                throw new IllegalStateException("reminder post failed for thread " + threadKey);
+            }
             log.info("[REMINDER] Posted to Slack | channel='{}' thread='{}'", channelId, threadTs);
         });
 
@@ -64,10 +91,19 @@ public class SlackConfig {
         });
 
         App app = new App(appConfig);
+        if (installationService.isMultiWorkspace()) {
+            // Without OAuth settings Bolt adds no authorization middleware, so resolve each request's team
+            // against the installation store here: unknown teams are rejected, known ones get their bot token
+            app.service(installationService);
+            app.use(new MultiTeamsAuthorization(appConfig, installationService));
+            log.info("Multi-workspace mode | installations={}", installationService.getInstallationCount());
+        }
 
         // Handle messages
         app.event(MessageEvent.class, (payload, ctx) -> {
             MessageEvent event = payload.getEvent();
+            long receivedAt = ingestionLatencyTracker.receivedAtNanos();
+            String ingestionPath = ingestionLatencyTracker.currentPath();
 
             if (event.getBotId() != null || event.getSubtype() != null) {
                 return ctx.ack();
@@ -78,6 +114,10 @@ public class SlackConfig {
             String userMessage = event.getText();
             String threadTs = event.getThreadTs();
             String messageTs = event.getTs();
+            String teamId = payload.getTeamId();
+            // teamId:channelId - Slack Connect channels share one ID across workspaces, so state and
+            // replies are scoped to the workspace the event came from
+            String channelKey = WorkspaceRegistry.channelKey(teamId, channelId);
 
             // For channel messages (no thread), use messageTs to create a thread reply. For thread messages, use threadTs.
             String replyThreadTs = (threadTs != null && !threadTs.isEmpty()) ? threadTs : messageTs;
@@ -85,15 +125,16 @@ public class SlackConfig {
             log.info("[INCOMING] User query received | channel='{}' user='{}' | threadTs='{}' messageTs='{}' | replyWillGoTo='{}'",
                     channelId, userId, threadTs, messageTs, replyThreadTs);
 
-            String threadKey = conversationService.generateThreadKey(channelId, userId, replyThreadTs);
+            String threadKey = conversationService.generateThreadKey(channelKey, userId, replyThreadTs);
 
             // Record user message - updating user timestamp
-            threadReminderService.recordUserMessage(threadKey, channelId, replyThreadTs);
+            threadReminderService.recordUserMessage(threadKey, channelKey, replyThreadTs);
             log.info("[USER ACTIVITY] Updated user timestamp | threadKey='{}' | user query thread is '{}'", threadKey, replyThreadTs);
 
             // Buffer the message for debouncing (preserves first message's thread for reply)
-            bufferService.bufferMessage(userId, channelId, userMessage, replyThreadTs, (combinedMessage, bufferedCtx) -> {
-                EXECUTOR.submit(() -> {
+            bufferService.bufferMessage(userId, channelKey, userMessage, replyThreadTs, (combinedMessage, bufferedCtx) -> {
+                // Per-team concurrency limit keeps one busy workspace from starving the others (multi-workspace only)
+                EXECUTOR.submit(() -> workspaceRegistry.runForTeam(teamId, () -> {
                     try {
                         List<Map<String, String>> history = conversationService.getHistory(threadKey);
                         conversationService.addMessage(threadKey, "user", combinedMessage);
@@ -101,7 +142,14 @@ public class SlackConfig {
                         log.info("[LLM] Processing message | threadKey='{}' | replyTo='{}' | history={} messages",
                                 threadKey, bufferedCtx.replyThreadTs, history.size());
 
-                        String response = llmService.chat(combinedMessage, history);
+                        // Fetch product API data for the detected intent (parallel fan-out, cached per user)
+                        String channelName = slackService.getChannelName(bufferedCtx.channelId);
+                        String apiContext = productApiService.buildApiContext(channelName, userId, combinedMessage);
+
+                        LlmRequestContext llmContext = new LlmRequestContext(
+                                productProperties.findProductByChannel(channelName), channelName, userId);
+
+                        String response = llmService.chat(combinedMessage, history, apiContext, llmContext);
                         conversationService.addMessage(threadKey, "assistant", response);
 
                         // Record bot response - updating bot timestamp
@@ -113,6 +161,7 @@ public class SlackConfig {
                                 bufferedCtx.channelId, bufferedCtx.replyThreadTs, response.length());
                         slackService.postMessage(bufferedCtx.channelId, response, bufferedCtx.replyThreadTs);
                         log.info("[RESPONSE] Response sent to user thread successfully | threadKey='{}'", threadKey);
+                        ingestionLatencyTracker.recordProcessing(ingestionPath, receivedAt);
 
                     } catch (Exception e) {
                         log.error("[ERROR] Processing failed: {}", e.getMessage(), e);
@@ -120,7 +169,7 @@ public class SlackConfig {
                         slackService.postMessage(bufferedCtx.channelId,
                             "Sorry, something went wrong. Please try again.", bufferedCtx.replyThreadTs);
                     }
-                });
+                }));
             });
 
             return ctx.ack();
@@ -2,11 +2,18 @@ package com.enterprise.slackassistant.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "slack")
 public class SlackProperties {
 
     private String botToken;
     private String signingSecret;
+    private String appToken;
+    private String methodsEndpointUrlPrefix;
+    private final SocketMode socketMode = new SocketMode();
+    private final Workspaces workspaces = new Workspaces();
 
     public String getBotToken() {
         return botToken;
@@ -23,4 +30,91 @@ public class SlackProperties {
     public void setSigningSecret(String signingSecret) {
         this.signingSecret = signingSecret;
     }
+
+    public String getAppToken() {
+        return appToken;
+    }
+
+    public void setAppToken(String appToken) {
+        this.appToken = appToken;
+    }
+
+    public String getMethodsEndpointUrlPrefix() {
+        return methodsEndpointUrlPrefix;
+    }
+
+    public void setMethodsEndpointUrlPrefix(String methodsEndpointUrlPrefix) {
+        this.methodsEndpointUrlPrefix = methodsEndpointUrlPrefix;
+    }
+
+    public SocketMode getSocketMode() {
+        return socketMode;
+    }
+
+    public Workspaces getWorkspaces() {
+        return workspaces;
+    }
+
+    public static class SocketMode {
+
+        private boolean enabled = false;
+        private int connections = 2;
+        private String backend = "JavaWebSocket";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+
+        public String getBackend() {
+            return backend;
+        }
+
+        public void setBackend(String backend) {
+            this.backend = backend;
+        }
+    }
+
+    public static class Workspaces {
+
+        private Map<String, String> installations = new LinkedHashMap<>();
+        private int clientCacheSize = 256;
+        private int maxConcurrentPerTeam = 8;
+
+        /** Team ID to bot token. When non-empty, the app runs in multi-workspace mode. */
+        public Map<String, String> getInstallations() {
+            return installations;
+        }
+
+        public void setInstallations(Map<String, String> installations) {
+            this.installations = installations;
+        }
+
+        public int getClientCacheSize() {
+            return clientCacheSize;
+        }
+
+        public void setClientCacheSize(int clientCacheSize) {
+            this.clientCacheSize = clientCacheSize;
+        }
+
+        public int getMaxConcurrentPerTeam() {
+            return maxConcurrentPerTeam;
+        }
+
+        public void setMaxConcurrentPerTeam(int maxConcurrentPerTeam) {
+            this.maxConcurrentPerTeam = maxConcurrentPerTeam;
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package com.enterprise.slackassistant.controller;
+
+import com.enterprise.slackassistant.service.IngestionLatencyTracker;
+import com.slack.api.bolt.App;
+import com.slack.api.bolt.jakarta_servlet.SlackAppServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Bolt servlet that times each request from arrival to the written ack, so signature verification and
+ * body parsing count towards the HTTP path's ack latency.
+ */
+public class LatencyTrackingSlackAppServlet extends SlackAppServlet {
+
+    private final transient IngestionLatencyTracker tracker;
+
+    public LatencyTrackingSlackAppServlet(App app, IngestionLatencyTracker tracker) {
+        super(app);
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        tracker.markReceived(IngestionLatencyTracker.PATH_HTTP);
+        try {
+            super.doPost(req, resp);
+        } finally {
+            tracker.recordAck();
+        }
+    }
+}
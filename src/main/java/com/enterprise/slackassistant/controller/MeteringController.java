@@ -0,0 +1,32 @@
+package com.enterprise.slackassistant.controller;
+
+import com.enterprise.slackassistant.service.LlmUsageMeter;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/metering")
+public class MeteringController {
+
+    private final LlmUsageMeter usageMeter;
+
+    public MeteringController(LlmUsageMeter usageMeter) {
+        this.usageMeter = usageMeter;
+    }
+
+    /** Token usage per time bucket, product, channel and user, today's budget status and prompt prefix stats. */
+    @GetMapping("/usage")
+    public Map<String, Object> usage(@RequestParam(required = false) String product,
+                                     @RequestParam(required = false) String channel) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("usage", usageMeter.snapshot(product, channel));
+        body.put("budgets", usageMeter.budgetStatus());
+        body.put("promptLayout", usageMeter.promptLayoutStatus());
+        return body;
+    }
+}
@@ -1,9 +1,11 @@
 package com.enterprise.slackassistant.controller;
 
+import com.enterprise.slackassistant.service.IngestionLatencyTracker;
 import com.slack.api.bolt.App;
 import com.slack.api.bolt.jakarta_servlet.SlackAppServlet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,8 +16,9 @@ public class SlackAppController {
     private static final Logger log = LoggerFactory.getLogger(SlackAppController.class);
 
     @Bean
-    public ServletRegistrationBean<SlackAppServlet> slackAppServlet(App app) {
-        SlackAppServlet servlet = new SlackAppServlet(app);
+    @ConditionalOnProperty(prefix = "slack.http-events", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ServletRegistrationBean<SlackAppServlet> slackAppServlet(App app, IngestionLatencyTracker ingestionLatencyTracker) {
+        SlackAppServlet servlet = new LatencyTrackingSlackAppServlet(app, ingestionLatencyTracker);
         ServletRegistrationBean<SlackAppServlet> registration =
                 new ServletRegistrationBean<>(servlet, "/slack/events");
         registration.setName("slackAppServlet");
@@ -0,0 +1,138 @@
+package com.enterprise.slackassistant.controller;
+
+import com.enterprise.slackassistant.config.SlackProperties;
+import com.enterprise.slackassistant.service.IngestionLatencyTracker;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.slack.api.bolt.App;
+import com.slack.api.bolt.socket_mode.SocketModeApp;
+import com.slack.api.socket_mode.SocketModeClient;
+import com.slack.api.socket_mode.listener.WebSocketMessageListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Socket Mode ingestion: keeps a pool of persistent WebSocket connections to Slack that feed the same
+ * Bolt {@link App} as the HTTP servlet. Bolt acks each envelope as soon as the handler returns, and the
+ * client reconnects automatically when a connection drops. Startup fails if no connection can be opened, so
+ * the application never reports ready while receiving no events.
+ * <p>
+ * Connections are opened through the App's shared {@code Slack} instance, so apps.connections.open uses the
+ * same tuned transport and {@code slack.methods-endpoint-url-prefix} as every other Web API call.
+ */
+@Component
+@ConditionalOnProperty(prefix = "slack.socket-mode", name = "enabled", havingValue = "true")
+public class SlackSocketModeController implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SlackSocketModeController.class);
+    // Envelope types Bolt's SocketModeRequestParser dispatches to the App (and therefore acks)
+    private static final List<String> ENVELOPE_TYPES = List.of("events_api", "interactive", "slash_commands");
+
+    private final App app;
+    private final SlackProperties slackProperties;
+    private final IngestionLatencyTracker ingestionLatencyTracker;
+    private final List<SocketModeApp> connections = new ArrayList<>();
+    private volatile boolean running = false;
+
+    public SlackSocketModeController(App app, SlackProperties slackProperties,
+                                     IngestionLatencyTracker ingestionLatencyTracker) {
+        this.app = app;
+        this.slackProperties = slackProperties;
+        this.ingestionLatencyTracker = ingestionLatencyTracker;
+    }
+
+    @Override
+    public void start() {
+        SlackProperties.SocketMode config = slackProperties.getSocketMode();
+        SocketModeClient.Backend backend = SocketModeClient.Backend.valueOf(config.getBackend());
+
+        Exception lastFailure = null;
+        for (int i = 0; i < config.getConnections(); i++) {
+            try {
+                // Token-based constructor: Bolt opens the client through app.slack() and registers the listener
+                // that parses each envelope, runs the App and sends the ack. The client reconnects on its own.
+                SocketModeApp socketModeApp = new SocketModeApp(slackProperties.getAppToken(), backend, app);
+                socketModeApp.startAsync();
+                trackAcks(socketModeApp.getClient());
+                connections.add(socketModeApp);
+                log.info("[SOCKET MODE] Connection {} opened", i);
+            } catch (Exception e) {
+                lastFailure = e;
+                log.error("[SOCKET MODE] Failed to start connection {}: {}", i, e.getMessage(), e);
+            }
+        }
+        if (connections.isEmpty()) {
+            throw new IllegalStateException("Socket Mode enabled but none of " + config.getConnections()
+                    + " connections could be opened", lastFailure);
+        }
+        if (connections.size() < config.getConnections()) {
+            log.warn("[SOCKET MODE] Running with {} of {} connections", connections.size(), config.getConnections());
+        }
+        running = true;
+        log.info("Slack Socket Mode started | connections={} backend={}", connections.size(), backend);
+    }
+
+    /**
+     * Brackets Bolt's listener so each envelope is timed from the raw WebSocket message to the sent ack.
+     * Listeners run in order on the processing thread. Envelopes that arrive before this runs are handled
+     * normally, just not timed.
+     */
+    private void trackAcks(SocketModeClient client) {
+        List<WebSocketMessageListener> listeners = client.getWebSocketMessageListeners();
+        listeners.add(0, message -> {
+            if (isEnvelope(message)) {
+                ingestionLatencyTracker.markReceived(IngestionLatencyTracker.PATH_SOCKET_MODE);
+            }
+        });
+        listeners.add(message -> ingestionLatencyTracker.recordAck());
+    }
+
+    /**
+     * True for the envelope types Bolt dispatches (events_api, interactive, slash_commands), judged by the
+     * top-level {@code type} field as Bolt's parser does. Only the top level is read; the payload is skipped.
+     */
+    static boolean isEnvelope(String message) {
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return false;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("type") && reader.peek() == JsonToken.STRING) {
+                    return ENVELOPE_TYPES.contains(reader.nextString());
+                }
+                reader.skipValue();
+            }
+            return false;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void stop() {
+        for (SocketModeApp socketModeApp : connections) {
+            try {
+                socketModeApp.close();
+            } catch (Exception e) {
+                log.warn("[SOCKET MODE] Error closing connection: {}", e.getMessage());
+            }
+        }
+        connections.clear();
+        running = false;
+        log.info("Slack Socket Mode stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,25 @@
+package com.enterprise.slackassistant.controller;
+
+import com.enterprise.slackassistant.service.HttpTransportMetrics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/transport")
+public class TransportController {
+
+    private final HttpTransportMetrics transportMetrics;
+
+    public TransportController(HttpTransportMetrics transportMetrics) {
+        this.transportMetrics = transportMetrics;
+    }
+
+    /** Connection setup time, pool reuse and call latency percentiles of the shared HTTP transport. */
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return transportMetrics.snapshot();
+    }
+}
@@ -0,0 +1,34 @@
+package com.enterprise.slackassistant.controller;
+
+import com.enterprise.slackassistant.service.WorkspaceInstallationService;
+import com.enterprise.slackassistant.service.WorkspaceRegistry;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/workspaces")
+public class WorkspaceController {
+
+    private final WorkspaceRegistry workspaceRegistry;
+    private final WorkspaceInstallationService installationService;
+
+    public WorkspaceController(WorkspaceRegistry workspaceRegistry, WorkspaceInstallationService installationService) {
+        this.workspaceRegistry = workspaceRegistry;
+        this.installationService = installationService;
+    }
+
+    /** Installed workspaces, cached clients and per-team completed tasks, in-flight count and permit wait. */
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("multiWorkspace", workspaceRegistry.isMultiWorkspace());
+        body.put("installations", installationService.getInstallationCount());
+        body.put("cachedClients", workspaceRegistry.getCachedClientCount());
+        body.put("teams", workspaceRegistry.snapshot());
+        return body;
+    }
+}
@@ -0,0 +1,72 @@
+package com.enterprise.slackassistant.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache of LLM responses keyed by product and normalized question. Used as the cache-only
+ * path when a channel's token budget is exhausted. The key carries no user, so callers must only store
+ * and look up responses that depend on nothing but the question - no product API data, no conversation
+ * history. Follow-ups and API-backed turns therefore never hit it: in cache-only mode they are refused.
+ * Expiry follows the {@link SchedulingClock}.
+ */
+@Service
+public class CacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheService.class);
+
+    private final long ttlMinutes;
+    private final SchedulingClock clock;
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    public CacheService(@Value("${cache.ttl-minutes:10}") long ttlMinutes, SchedulingClock clock) {
+        this.ttlMinutes = ttlMinutes;
+        this.clock = clock;
+        clock.scheduleAtFixedRate(this::evictExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public void putResponse(String productId, String question, String response) {
+        responses.put(key(productId, question), new CachedResponse(response, clock.now().plusSeconds(ttlMinutes * 60)));
+    }
+
+    /** @return the cached response, or null on miss/expiry */
+    public String getResponse(String productId, String question) {
+        CachedResponse cached = responses.get(key(productId, question));
+        if (cached == null || !cached.expiresAt.isAfter(clock.now())) {
+            return null;
+        }
+        return cached.response;
+    }
+
+    private void evictExpired() {
+        Instant now = clock.now();
+        int before = responses.size();
+        responses.values().removeIf(cached -> !cached.expiresAt.isAfter(now));
+        if (responses.size() < before) {
+            log.debug("Evicted {} cached responses", before - responses.size());
+        }
+    }
+
+    private static String key(String productId, String question) {
+        String normalized = question == null ? "" : question.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return productId + "|" + normalized;
+    }
+
+    private static class CachedResponse {
+        private final String response;
+        private final Instant expiresAt;
+
+        CachedResponse(String response, Instant expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
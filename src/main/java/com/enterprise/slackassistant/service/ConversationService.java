@@ -14,19 +14,20 @@ public class ConversationService {
     private static final int MAX_HISTORY = 10;
     private static final long SESSION_TIMEOUT_MINUTES = 5;
     private final Map<String, Conversation> conversations = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final SchedulingClock clock;
 
-    public ConversationService() {
-        scheduler.scheduleAtFixedRate(this::cleanupStale, 1, 1, TimeUnit.MINUTES);
+    public ConversationService(SchedulingClock clock) {
+        this.clock = clock;
+        clock.scheduleAtFixedRate(this::cleanupStale, 1, 1, TimeUnit.MINUTES);
     }
 
     public void addMessage(String threadKey, String role, String content) {
         conversations.compute(threadKey, (k, conv) -> {
             if (conv == null) {
-                conv = new Conversation();
+                conv = new Conversation(clock.now());
             }
             conv.addMessage(role, content);
-            conv.updateLastActivity();
+            conv.updateLastActivity(clock.now());
             return conv;
         });
     }
@@ -45,7 +46,7 @@ public class ConversationService {
 
     /** Remove stale conversations based on last activity time only (no content). */
     private void cleanupStale() {
-        Instant now = Instant.now();
+        Instant now = clock.now();
         Instant staleThreshold = now.minusSeconds(SESSION_TIMEOUT_MINUTES * 60);
 
         for (Map.Entry<String, Conversation> entry : conversations.entrySet()) {
@@ -59,16 +60,25 @@ public class ConversationService {
         }
     }
 
-    public String generateThreadKey(String channelId, String userId, String threadTs) {
+    public int getActiveConversationCount() {
+        return conversations.size();
+    }
+
+    /** @param channelKey {@code teamId:channelId} (see WorkspaceRegistry), so shared channels keep per-workspace state */
+    public String generateThreadKey(String channelKey, String userId, String threadTs) {
         if (threadTs != null && !threadTs.isEmpty()) {
-            return channelId + ":" + threadTs;
+            return channelKey + ":" + threadTs;
         }
-        return channelId + ":" + userId;
+        return channelKey + ":" + userId;
     }
 
     private static class Conversation {
         private final List<Map<String, String>> messages = new ArrayList<>();
-        private Instant lastActivity = Instant.now();
+        private Instant lastActivity;
+
+        Conversation(Instant createdAt) {
+            this.lastActivity = createdAt;
+        }
 
         void addMessage(String role, String content) {
             messages.add(Map.of("role", role, "content", content));
@@ -81,8 +91,8 @@ public class ConversationService {
             return new ArrayList<>(messages);
         }
 
-        void updateLastActivity() {
-            lastActivity = Instant.now();
+        void updateLastActivity(Instant now) {
+            lastActivity = now;
         }
 
         Instant getLastActivity() {
@@ -0,0 +1,160 @@
+package com.enterprise.slackassistant.service;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OkHttp event listener factory for the shared transport. Tracks connection setup time (DNS + TCP + TLS),
+ * how often calls reuse a pooled connection, and call latency percentiles.
+ */
+@Service
+public class HttpTransportMetrics implements EventListener.Factory {
+
+    private final Histogram connectionSetup = new Histogram();
+    private final Histogram callLatency = new Histogram();
+    private final LongAdder newConnections = new LongAdder();
+    private final LongAdder reusedConnections = new LongAdder();
+    private final LongAdder http2Connections = new LongAdder();
+    private final LongAdder failedConnects = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+
+    @Override
+    public EventListener create(Call call) {
+        return new CallListener();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("newConnections", newConnections.sum());
+        stats.put("reusedConnections", reusedConnections.sum());
+        stats.put("http2Connections", http2Connections.sum());
+        stats.put("failedConnects", failedConnects.sum());
+        stats.put("failedCalls", failedCalls.sum());
+        stats.put("connectionSetupMs", connectionSetup.snapshot());
+        stats.put("callLatencyMs", callLatency.snapshot());
+        return stats;
+    }
+
+    private class CallListener extends EventListener {
+        private long callStart;
+        private long setupStart;
+        private boolean connected;
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            if (setupStart == 0) {
+                setupStart = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            if (setupStart == 0) {
+                setupStart = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            connected = true;
+            newConnections.increment();
+            if (protocol == Protocol.HTTP_2) {
+                http2Connections.increment();
+            }
+            connectionSetup.record(System.nanoTime() - setupStart);
+            setupStart = 0;
+        }
+
+        /** The next route is timed from its own connectStart, not from this failed attempt. */
+        @Override
+        public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+                                  IOException ioe) {
+            failedConnects.increment();
+            setupStart = 0;
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            if (!connected) {
+                reusedConnections.increment();
+            }
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            callLatency.record(System.nanoTime() - callStart);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            failedCalls.increment();
+        }
+    }
+
+    /** Lock-free histogram over fixed millisecond bounds; percentiles report the bucket's upper bound. */
+    private static class Histogram {
+        private static final long[] BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, Long.MAX_VALUE};
+
+        private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int i = 0;
+            while (ms > BOUNDS_MS[i]) {
+                i++;
+            }
+            buckets[i].increment();
+            count.increment();
+            totalNanos.add(nanos);
+        }
+
+        Map<String, Object> snapshot() {
+            long n = count.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", n);
+            stats.put("avg", n > 0 ? TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / n) : 0);
+            stats.put("p50", percentile(n, 0.50));
+            stats.put("p99", percentile(n, 0.99));
+            return stats;
+        }
+
+        private long percentile(long n, double p) {
+            if (n == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(n * p);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= target) {
+                    return BOUNDS_MS[i];
+                }
+            }
+            return BOUNDS_MS[BOUNDS_MS.length - 1];
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.enterprise.slackassistant.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures ack latency per ingestion path (HTTP servlet vs Socket Mode), plus an end-to-end processing
+ * timer recorded by the message handler once the reply is posted. Each transport calls
+ * {@link #markReceived} as soon as it has the raw request - before Bolt's signature verification and
+ * parsing - and {@link #recordAck} once the ack has been written back, so both paths are timed over the
+ * same span. A summary is logged every {@value #SUMMARY_EVERY} events per path.
+ */
+@Service
+public class IngestionLatencyTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionLatencyTracker.class);
+    private static final int SUMMARY_EVERY = 50;
+
+    public static final String PATH_HTTP = "http";
+    public static final String PATH_SOCKET_MODE = "socket-mode";
+    /** Requests no transport marked (e.g. an envelope that arrived before ack tracking was attached). */
+    public static final String PATH_UNKNOWN = "unknown";
+
+    // Bolt runs the handler on the transport's thread, so the receipt is visible to it until the ack is sent
+    private static final ThreadLocal<Receipt> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Stats> ackStats = new ConcurrentHashMap<>();
+    private final Map<String, Stats> processingStats = new ConcurrentHashMap<>();
+
+    /** Called by the transport when a request arrives, before it is handed to Bolt. */
+    public void markReceived(String path) {
+        CURRENT.set(new Receipt(path, System.nanoTime()));
+    }
+
+    /** Called by the transport once the ack is written; no-op if the request was never marked. */
+    public void recordAck() {
+        Receipt receipt = CURRENT.get();
+        if (receipt == null) {
+            return;
+        }
+        CURRENT.remove();
+        record("ack", ackStats, receipt.path, System.nanoTime() - receipt.receivedAtNanos);
+    }
+
+    /** Ingestion path of the request currently being handled on this thread, or {@link #PATH_UNKNOWN}. */
+    public String currentPath() {
+        Receipt receipt = CURRENT.get();
+        return receipt != null ? receipt.path : PATH_UNKNOWN;
+    }
+
+    /** When the transport received the request currently being handled (System.nanoTime). */
+    public long receivedAtNanos() {
+        Receipt receipt = CURRENT.get();
+        return receipt != null ? receipt.receivedAtNanos : System.nanoTime();
+    }
+
+    /** Record end-to-end processing time from receipt (System.nanoTime) to reply posted. */
+    public void recordProcessing(String path, long receivedAtNanos) {
+        record("processing", processingStats, path, System.nanoTime() - receivedAtNanos);
+    }
+
+    private void record(String kind, Map<String, Stats> statsByPath, String path, long nanos) {
+        Stats stats = statsByPath.computeIfAbsent(path, p -> new Stats());
+        stats.count.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulate(nanos);
+
+        long count = stats.count.sum();
+        if (count % SUMMARY_EVERY == 0) {
+            log.info("[INGESTION] {} latency | path='{}' | count={} avg={}ms max={}ms",
+                    kind, path, count,
+                    TimeUnit.NANOSECONDS.toMillis(stats.totalNanos.sum() / count),
+                    TimeUnit.NANOSECONDS.toMillis(stats.maxNanos.get()));
+        }
+    }
+
+    private static class Receipt {
+        private final String path;
+        private final long receivedAtNanos;
+
+        Receipt(String path, long receivedAtNanos) {
+            this.path = path;
+            this.receivedAtNanos = receivedAtNanos;
+        }
+    }
+
+    private static class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+}
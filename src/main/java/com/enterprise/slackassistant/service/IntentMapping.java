@@ -0,0 +1,66 @@
+package com.enterprise.slackassistant.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One entry of a product's intent-mapping file: an intent name, the keywords that also select it and the
+ * product APIs it needs.
+ */
+public class IntentMapping {
+    private String appId;
+    private String intentName;
+    private List<String> keywords = new ArrayList<>();
+    private List<String> apiNames = new ArrayList<>();
+
+    public String getAppId() {
+        return appId;
+    }
+
+    public void setAppId(String appId) {
+        this.appId = appId;
+    }
+
+    public String getIntentName() {
+        return intentName;
+    }
+
+    public void setIntentName(String intentName) {
+        this.intentName = intentName;
+    }
+
+    /** Phrases that select this intent in addition to its name, e.g. "deactivated" for "User not active". */
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(List<String> keywords) {
+        this.keywords = keywords;
+    }
+
+    /** The intent name followed by its keywords. */
+    public List<String> getPhrases() {
+        List<String> phrases = new ArrayList<>(keywords.size() + 1);
+        phrases.add(intentName);
+        phrases.addAll(keywords);
+        return phrases;
+    }
+
+    public List<String> getApiNames() {
+        return apiNames;
+    }
+
+    public void setApiNames(List<String> apiNames) {
+        this.apiNames = apiNames;
+    }
+
+    @Override
+    public String toString() {
+        return "IntentMapping{" +
+                "appId='" + appId + '\'' +
+                ", intentName='" + intentName + '\'' +
+                ", keywords=" + keywords +
+                ", apiNames=" + apiNames +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.enterprise.slackassistant.service;
+
+/**
+ * Who an LLM call is made for: used for token metering and budget enforcement.
+ */
+public class LlmRequestContext {
+    public final String productId;
+    public final String channelName;
+    public final String userId;
+
+    public LlmRequestContext(String productId, String channelName, String userId) {
+        this.productId = productId;
+        this.channelName = channelName;
+        this.userId = userId;
+    }
+}
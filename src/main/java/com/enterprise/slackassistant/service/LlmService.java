@@ -1,26 +1,50 @@
 package com.enterprise.slackassistant.service;
 
+import com.enterprise.slackassistant.config.MeteringProperties;
+import com.enterprise.slackassistant.config.MeteringProperties.BudgetAction;
+import com.enterprise.slackassistant.service.LlmUsageMeter.Reservation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.ai.chat.ChatClient;
 import org.springframework.ai.chat.ChatResponse;
-import org.springframework.ai.chat.messages.SystemMessage;
-import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.StreamingChatClient;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Answers through the streaming chat client so time to first token can be measured. Usage is metered from
+ * the provider's token counts when a chunk carries them, otherwise estimated at 4 characters per token.
+ */
 @Service
 public class LlmService {
 
     private static final Logger log = LoggerFactory.getLogger(LlmService.class);
 
-    private final ChatClient chatClient;
+    private static final String BUDGET_EXHAUSTED_MESSAGE =
+            "This channel has reached its AI usage budget for today. Please try again tomorrow or contact support directly.";
 
-    public LlmService(ChatClient chatClient) {
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final StreamingChatClient chatClient;
+    private final LlmUsageMeter usageMeter;
+    private final CacheService cacheService;
+    private final MeteringProperties meteringProperties;
+    private final PromptLayoutService promptLayoutService;
+
+    public LlmService(StreamingChatClient chatClient, LlmUsageMeter usageMeter, CacheService cacheService,
+                      MeteringProperties meteringProperties, PromptLayoutService promptLayoutService) {
         this.chatClient = chatClient;
+        this.promptLayoutService = promptLayoutService;
+        this.usageMeter = usageMeter;
+        this.cacheService = cacheService;
+        this.meteringProperties = meteringProperties;
     }
 
     public String chat(String userMessage) {
@@ -28,42 +52,126 @@ public class LlmService {
     }
 
     public String chat(String userMessage, List<Map<String, String>> conversationHistory) {
+        return chat(userMessage, conversationHistory, null);
+    }
+
+    /**
+     * @param apiContext product API results for the detected intent, or null when none were fetched
+     */
+    public String chat(String userMessage, List<Map<String, String>> conversationHistory, String apiContext) {
+        return chat(userMessage, conversationHistory, apiContext, new LlmRequestContext(null, null, null));
+    }
+
+    /**
+     * @param context product/channel/user the call is metered against; budgets may switch the model or
+     *                answer from the response cache only
+     */
+    public String chat(String userMessage, List<Map<String, String>> conversationHistory, String apiContext,
+                       LlmRequestContext context) {
         log.info("LLM request: '{}'", userMessage);
 
-        String systemPrompt = buildSystemPrompt(conversationHistory);
-        
-        Prompt prompt = new Prompt(List.of(
-                new SystemMessage(systemPrompt),
-                new UserMessage(userMessage)
-        ));
+        List<Message> messages = promptLayoutService.layout(context.productId, conversationHistory, userMessage, apiContext);
+        long promptEstimate = promptLayoutService.estimateTokens(messages);
+        Reservation reservation = usageMeter.reserve(context.productId, context.channelName,
+                promptEstimate + meteringProperties.getReservedCompletionTokens());
+        try {
+            return chat(userMessage, conversationHistory, apiContext, context, messages, promptEstimate,
+                    reservation.getAction());
+        } finally {
+            usageMeter.release(reservation);
+        }
+    }
+
+    private String chat(String userMessage, List<Map<String, String>> conversationHistory, String apiContext,
+                        LlmRequestContext context, List<Message> messages, long promptEstimate,
+                        BudgetAction budgetAction) {
+        boolean shareable = isShareable(conversationHistory, apiContext);
+        if (budgetAction == BudgetAction.CACHE_ONLY) {
+            // Only shareable answers are cached, so follow-ups and API-backed turns are refused outright
+            String cached = shareable ? cacheService.getResponse(context.productId, userMessage) : null;
+            log.info("[METERING] Cache-only mode | channel='{}' | shareable={} | cacheHit={}",
+                    context.channelName, shareable, cached != null);
+            return cached != null ? cached : BUDGET_EXHAUSTED_MESSAGE;
+        }
+
+        Prompt prompt;
+        if (budgetAction == BudgetAction.DOWNGRADE) {
+            log.info("[METERING] Budget reached - using fallback model '{}' | channel='{}'",
+                    meteringProperties.getFallbackModel(), context.channelName);
+            prompt = new Prompt(messages, OpenAiChatOptions.builder()
+                    .withModel(meteringProperties.getFallbackModel())
+                    .build());
+        } else {
+            prompt = new Prompt(messages);
+        }
 
-        ChatResponse response = chatClient.call(prompt);
-        String content = response.getResult().getOutput().getContent();
+        StreamedReply reply = stream(prompt);
+        String content = reply.content;
+        recordUsage(reply, promptEstimate, context);
+        if (shareable) {
+            cacheService.putResponse(context.productId, userMessage, content);
+        }
 
         log.info("LLM response: '{}'", content);
         return content;
     }
 
-    private String buildSystemPrompt(List<Map<String, String>> history) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("""
-            You are a helpful assistant. Be concise and helpful.
-            
-            IMPORTANT GUIDELINES:
-            1. If you believe you have resolved the user's issue, ask them to confirm: "Does this resolve your issue?"
-            2. If the user says thanks/resolved/done, respond with a brief closing message.
-            3. Keep track of the conversation context - user may switch between topics.
-            4. Be proactive in asking if the user needs anything else.
-            """);
-
-        if (!history.isEmpty()) {
-            sb.append("\n\n=== CONVERSATION HISTORY ===\n");
-            for (Map<String, String> msg : history) {
-                sb.append(msg.get("role")).append(": ").append(msg.get("content")).append("\n");
+    /** Only answers built from the question alone are shared; API data and history are per user. */
+    private static boolean isShareable(List<Map<String, String>> conversationHistory, String apiContext) {
+        return (apiContext == null || apiContext.isBlank()) && conversationHistory.isEmpty();
+    }
+
+    /** Collect the streamed completion, timing the first chunk that carries content. */
+    private StreamedReply stream(Prompt prompt) {
+        long start = System.nanoTime();
+        long firstTokenAt = 0;
+        StringBuilder content = new StringBuilder();
+        Usage usage = null;
+        for (ChatResponse chunk : chatClient.stream(prompt).toIterable()) {
+            Generation generation = chunk.getResult();
+            String delta = generation != null && generation.getOutput() != null ? generation.getOutput().getContent() : null;
+            if (delta != null && !delta.isEmpty()) {
+                if (firstTokenAt == 0) {
+                    firstTokenAt = System.nanoTime();
+                }
+                content.append(delta);
+            }
+            Usage chunkUsage = chunk.getMetadata() != null ? chunk.getMetadata().getUsage() : null;
+            if (chunkUsage != null && chunkUsage.getPromptTokens() != null && chunkUsage.getPromptTokens() > 0) {
+                usage = chunkUsage;
             }
-            sb.append("=== END HISTORY ===\n");
         }
+        long end = System.nanoTime();
+        long ttftMs = TimeUnit.NANOSECONDS.toMillis((firstTokenAt != 0 ? firstTokenAt : end) - start);
+        return new StreamedReply(content.toString(), usage, ttftMs, TimeUnit.NANOSECONDS.toMillis(end - start));
+    }
 
-        return sb.toString();
+    private void recordUsage(StreamedReply reply, long promptEstimate, LlmRequestContext context) {
+        boolean reported = reply.usage != null;
+        long promptTokens = reported ? reply.usage.getPromptTokens() : promptEstimate;
+        long completionTokens = reported && reply.usage.getGenerationTokens() != null
+                ? reply.usage.getGenerationTokens()
+                : reply.content.length() / CHARS_PER_TOKEN;
+        usageMeter.record(context.productId, context.channelName, context.userId, promptTokens, completionTokens);
+
+        long prefixTokens = promptLayoutService.getPrefixTokenEstimate(context.productId);
+        usageMeter.recordPromptLayout(context.productId, prefixTokens, promptTokens, reply.ttftMs, reply.latencyMs);
+        log.info("[PROMPT] product='{}' prefix={} (~{} tokens) | promptTokens={} ({}) | ttft={}ms | latency={}ms",
+                context.productId, promptLayoutService.getPrefixFingerprint(context.productId),
+                prefixTokens, promptTokens, reported ? "reported" : "estimated", reply.ttftMs, reply.latencyMs);
+    }
+
+    private static class StreamedReply {
+        private final String content;
+        private final Usage usage;
+        private final long ttftMs;
+        private final long latencyMs;
+
+        StreamedReply(String content, Usage usage, long ttftMs, long latencyMs) {
+            this.content = content;
+            this.usage = usage;
+            this.ttftMs = ttftMs;
+            this.latencyMs = latencyMs;
+        }
     }
 }
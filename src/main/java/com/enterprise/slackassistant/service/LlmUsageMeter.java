@@ -0,0 +1,275 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.MeteringProperties;
+import com.enterprise.slackassistant.config.MeteringProperties.Budget;
+import com.enterprise.slackassistant.config.MeteringProperties.BudgetAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records LLM token usage per product, channel and user in fixed time buckets, and enforces daily token
+ * budgets per channel or product. Usage counters are {@link LongAdder}s so concurrent recording never blocks;
+ * daily totals are {@link AtomicLong}s so a budget check can reserve tokens atomically. Buckets and days
+ * follow the {@link SchedulingClock}, in UTC.
+ */
+@Service
+public class LlmUsageMeter {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmUsageMeter.class);
+    private static final String PRODUCT_SCOPE = "product:";
+    private static final String CHANNEL_SCOPE = "channel:";
+
+    private final MeteringProperties properties;
+    private final SchedulingClock clock;
+    private final Map<UsageKey, UsageCounter> usage = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> dailyTotals = new ConcurrentHashMap<>();
+    private final Map<String, PromptStats> promptStats = new ConcurrentHashMap<>();
+
+    public LlmUsageMeter(MeteringProperties properties, SchedulingClock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        clock.scheduleAtFixedRate(this::evictExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public void record(String productId, String channelName, String userId, long promptTokens, long completionTokens) {
+        long now = clock.now().getEpochSecond();
+        long bucketSeconds = properties.getBucketSeconds();
+        UsageKey key = new UsageKey(now - (now % bucketSeconds), nullSafe(productId), nullSafe(channelName), nullSafe(userId));
+
+        UsageCounter counter = usage.computeIfAbsent(key, k -> new UsageCounter());
+        counter.promptTokens.add(promptTokens);
+        counter.completionTokens.add(completionTokens);
+        counter.calls.increment();
+
+        long total = promptTokens + completionTokens;
+        String day = today();
+        dailyTotals.computeIfAbsent(dailyKey(PRODUCT_SCOPE, key.product, day), k -> new AtomicLong()).addAndGet(total);
+        dailyTotals.computeIfAbsent(dailyKey(CHANNEL_SCOPE, key.channel, day), k -> new AtomicLong()).addAndGet(total);
+    }
+
+    /**
+     * Record how much of a prompt was the static, cacheable prefix, the time to the first streamed token
+     * and how long the whole call took. The prefix size is estimated at 4 characters per token, and OpenAI
+     * only caches prefixes of 1024+ tokens, so the ratio is an estimated upper bound on cached tokens.
+     */
+    public void recordPromptLayout(String productId, long prefixTokens, long promptTokens, long ttftMs, long latencyMs) {
+        PromptStats stats = promptStats.computeIfAbsent(nullSafe(productId), k -> new PromptStats());
+        stats.calls.increment();
+        stats.prefixTokens.add(Math.min(prefixTokens, promptTokens > 0 ? promptTokens : prefixTokens));
+        stats.promptTokens.add(promptTokens);
+        stats.ttftMs.add(ttftMs);
+        stats.latencyMs.add(latencyMs);
+    }
+
+    /**
+     * Per product: calls, estimated share of prompt tokens in the static prefix, and average time to first
+     * token and total call latency.
+     */
+    public Map<String, Map<String, Object>> promptLayoutStatus() {
+        Map<String, Map<String, Object>> status = new LinkedHashMap<>();
+        promptStats.forEach((productId, stats) -> {
+            long calls = stats.calls.sum();
+            long promptTokens = stats.promptTokens.sum();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("calls", calls);
+            entry.put("estimatedCacheablePrefixRatio",
+                    promptTokens > 0 ? (double) stats.prefixTokens.sum() / promptTokens : 0.0);
+            entry.put("avgTtftMs", calls > 0 ? stats.ttftMs.sum() / calls : 0L);
+            entry.put("avgLatencyMs", calls > 0 ? stats.latencyMs.sum() / calls : 0L);
+            status.put(productId, entry);
+        });
+        return status;
+    }
+
+    /**
+     * Check the budget that applies to this channel and, when the estimate still fits, reserve it against
+     * today's product and channel totals so concurrent calls cannot all pass the same check. The channel's
+     * own budget, when configured, replaces its product's budget entirely; otherwise the product budget
+     * applies. Callers {@link #record} the actual usage and then {@link #release} the reservation.
+     *
+     * @return the reservation; its action is null unless the budget is exhausted, in which case nothing is reserved
+     */
+    public Reservation reserve(String productId, String channelName, long estimatedTokens) {
+        String day = today();
+        String productKey = dailyKey(PRODUCT_SCOPE, nullSafe(productId), day);
+        String channelKey = dailyKey(CHANNEL_SCOPE, nullSafe(channelName), day);
+        Budget channelBudget = configuredBudget(channelName);
+        Budget budget = channelBudget != null ? channelBudget : configuredBudget(productId);
+        if (budget == null) {
+            return Reservation.NONE;
+        }
+
+        String budgetKey = channelBudget != null ? channelKey : productKey;
+        AtomicLong used = dailyTotals.computeIfAbsent(budgetKey, k -> new AtomicLong());
+        long current;
+        do {
+            current = used.get();
+            if (current + estimatedTokens > budget.getTokensPerDay()) {
+                log.warn("[METERING] Budget exhausted | scope='{}' used={} estimate={} limit={} action={}",
+                        budgetKey, current, estimatedTokens, budget.getTokensPerDay(), budget.getAction());
+                return new Reservation(budget.getAction(), null, null, 0);
+            }
+        } while (!used.compareAndSet(current, current + estimatedTokens));
+
+        String otherKey = channelBudget != null ? productKey : channelKey;
+        dailyTotals.computeIfAbsent(otherKey, k -> new AtomicLong()).addAndGet(estimatedTokens);
+        return new Reservation(null, productKey, channelKey, estimatedTokens);
+    }
+
+    /** Give back reserved tokens once the call's actual usage is recorded, or after it failed. */
+    public void release(Reservation reservation) {
+        if (reservation.tokens == 0) {
+            return;
+        }
+        // A reservation that outlived its day was evicted along with the day's totals
+        for (String key : List.of(reservation.productKey, reservation.channelKey)) {
+            AtomicLong total = dailyTotals.get(key);
+            if (total != null) {
+                total.addAndGet(-reservation.tokens);
+            }
+        }
+    }
+
+    private Budget configuredBudget(String name) {
+        Budget budget = name != null ? properties.getBudgets().get(name) : null;
+        return budget != null && budget.getTokensPerDay() > 0 ? budget : null;
+    }
+
+    /** Usage rows (optionally filtered) ordered by bucket, for the metering endpoint. */
+    public List<Map<String, Object>> snapshot(String productId, String channelName) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        usage.entrySet().stream()
+                .filter(e -> productId == null || productId.equals(e.getKey().product))
+                .filter(e -> channelName == null || channelName.equals(e.getKey().channel))
+                .sorted(Comparator.comparingLong(e -> e.getKey().bucketStart))
+                .forEach(e -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("bucketStart", Instant.ofEpochSecond(e.getKey().bucketStart).toString());
+                    row.put("product", e.getKey().product);
+                    row.put("channel", e.getKey().channel);
+                    row.put("user", e.getKey().user);
+                    row.put("promptTokens", e.getValue().promptTokens.sum());
+                    row.put("completionTokens", e.getValue().completionTokens.sum());
+                    row.put("calls", e.getValue().calls.sum());
+                    rows.add(row);
+                });
+        return rows;
+    }
+
+    /**
+     * Today's usage against each configured budget, including tokens reserved by calls still in flight.
+     * A budget name may be a channel or a product, so both totals are reported.
+     */
+    public Map<String, Map<String, Object>> budgetStatus() {
+        String day = today();
+        Map<String, Map<String, Object>> status = new LinkedHashMap<>();
+        properties.getBudgets().forEach((name, budget) -> {
+            AtomicLong channelUsed = dailyTotals.get(dailyKey(CHANNEL_SCOPE, name, day));
+            AtomicLong productUsed = dailyTotals.get(dailyKey(PRODUCT_SCOPE, name, day));
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("channelUsedTokens", channelUsed != null ? channelUsed.get() : 0L);
+            entry.put("productUsedTokens", productUsed != null ? productUsed.get() : 0L);
+            entry.put("tokensPerDay", budget.getTokensPerDay());
+            entry.put("action", budget.getAction());
+            status.put(name, entry);
+        });
+        return status;
+    }
+
+    private void evictExpired() {
+        long cutoff = clock.now().getEpochSecond() - properties.getRetentionMinutes() * 60;
+        usage.keySet().removeIf(key -> key.bucketStart < cutoff);
+        String day = today();
+        dailyTotals.keySet().removeIf(key -> !key.endsWith("|" + day));
+    }
+
+    private String today() {
+        return clock.now().atOffset(ZoneOffset.UTC).toLocalDate().toString();
+    }
+
+    private static String dailyKey(String scope, String name, String day) {
+        return scope + name + "|" + day;
+    }
+
+    private static String nullSafe(String value) {
+        return value != null ? value : "unknown";
+    }
+
+    /** Tokens held against today's totals for one call, and the budget action when none could be held. */
+    public static final class Reservation {
+
+        static final Reservation NONE = new Reservation(null, null, null, 0);
+
+        private final BudgetAction action;
+        private final String productKey;
+        private final String channelKey;
+        private final long tokens;
+
+        private Reservation(BudgetAction action, String productKey, String channelKey, long tokens) {
+            this.action = action;
+            this.productKey = productKey;
+            this.channelKey = channelKey;
+            this.tokens = tokens;
+        }
+
+        /** @return the action of the exhausted budget, or null when the call may go ahead as requested */
+        public BudgetAction getAction() {
+            return action;
+        }
+
+        public long getTokens() {
+            return tokens;
+        }
+    }
+
+    private static class UsageKey {
+        private final long bucketStart;
+        private final String product;
+        private final String channel;
+        private final String user;
+
+        UsageKey(long bucketStart, String product, String channel, String user) {
+            this.bucketStart = bucketStart;
+            this.product = product;
+            this.channel = channel;
+            this.user = user;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof UsageKey)) return false;
+            UsageKey other = (UsageKey) o;
+            return bucketStart == other.bucketStart && product.equals(other.product)
+                    && channel.equals(other.channel) && user.equals(other.user);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bucketStart, product, channel, user);
+        }
+    }
+
+    private static class PromptStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder prefixTokens = new LongAdder();
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder ttftMs = new LongAdder();
+        private final LongAdder latencyMs = new LongAdder();
+    }
+
+    private static class UsageCounter {
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder completionTokens = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+    }
+}
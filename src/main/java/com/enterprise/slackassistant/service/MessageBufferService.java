@@ -17,9 +17,14 @@ public class MessageBufferService {
     private static final long DEBOUNCE_MS = 1000;
 
     private final Map<String, BufferedMessages> buffers = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final SchedulingClock clock;
+
+    public MessageBufferService(SchedulingClock clock) {
+        this.clock = clock;
+    }
 
     /**
+     * @param channelId     channel key (see WorkspaceRegistry), handed back in the BufferedContext
      * @param replyThreadTs thread to reply to (threadTs if in thread, else messageTs for channel)
      */
     public void bufferMessage(String userId, String channelId, String message, String replyThreadTs,
@@ -41,7 +46,7 @@ public class MessageBufferService {
             }
 
             final BufferedMessages buffer = existing;
-            ScheduledFuture<?> future = scheduler.schedule(() -> {
+            SchedulingClock.Cancellable future = clock.schedule(() -> {
                 buffers.remove(key);
                 String combined = String.join(" ", buffer.getMessages());
                 log.info("[BUFFER] Debounce complete | user='{}' | combined='{}' ({} msgs) | replyTo='{}'",
@@ -68,7 +73,7 @@ public class MessageBufferService {
         private final List<String> messages = new ArrayList<>();
         private final String channelId;
         private final String replyThreadTs;
-        private ScheduledFuture<?> future;
+        private SchedulingClock.Cancellable future;
         private BiConsumer<String, BufferedContext> callback;
 
         BufferedMessages(String channelId, String replyThreadTs) {
@@ -92,13 +97,13 @@ public class MessageBufferService {
             return new BufferedContext(channelId, replyThreadTs);
         }
 
-        void setFuture(ScheduledFuture<?> future) {
+        void setFuture(SchedulingClock.Cancellable future) {
             this.future = future;
         }
 
         void cancel() {
             if (future != null && !future.isDone()) {
-                future.cancel(false);
+                future.cancel();
             }
         }
 
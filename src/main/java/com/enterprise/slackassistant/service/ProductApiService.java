@@ -0,0 +1,233 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.ProductProperties;
+import com.enterprise.slackassistant.config.ProductProperties.ProductDefinition;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Executes the product APIs behind a detected intent. All APIs of an intent are called in parallel on
+ * virtual threads under one shared per-request deadline, so latency tracks the slowest call rather than
+ * the sum. Results are kept in a short-TTL cache keyed by user, product and API. APIs listed as
+ * mutating-apis (ticket creation, user updates) are never called from here: they would run again on every
+ * matching message and their results must not be replayed from the cache.
+ */
+@Service
+public class ProductApiService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductApiService.class);
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ProductProperties productProperties;
+    private final SchedulingClock clock;
+    private final Map<String, List<IntentMapping>> intentMappings = new ConcurrentHashMap<>();
+    private final Map<String, CachedResult> cache = new ConcurrentHashMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(EXECUTOR)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    public ProductApiService(ProductProperties productProperties, ObjectMapper objectMapper, SchedulingClock clock) {
+        this.productProperties = productProperties;
+        this.clock = clock;
+        productProperties.getDefinitions().forEach((productId, def) ->
+                intentMappings.put(productId, loadIntentMappings(objectMapper, productId, def)));
+        clock.scheduleAtFixedRate(this::evictExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Resolve the product for a channel, detect the intent and fetch its APIs.
+     * @return formatted API data for the LLM context, or null when nothing applies
+     */
+    public String buildApiContext(String channelName, String userId, String message) {
+        String productId = productProperties.findProductByChannel(channelName);
+        if (productId == null) {
+            return null;
+        }
+        IntentMapping intent = detectIntent(productId, message);
+        if (intent == null || intent.getApiNames().isEmpty()) {
+            log.info("[API] No intent matched | product='{}'", productId);
+            return null;
+        }
+        log.info("[API] Intent detected | product='{}' intent='{}' apis={}", productId, intent.getIntentName(), intent.getApiNames());
+
+        Map<String, String> results = fetchApiData(productId, userId, intent.getApiNames());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Product: ").append(productId).append("\n");
+        sb.append("Detected intent: ").append(intent.getIntentName()).append("\n");
+        results.forEach((apiName, body) -> sb.append(apiName).append(": ").append(body).append("\n"));
+        return sb.toString();
+    }
+
+    /**
+     * Match the intent whose name or one of its keywords appears in the message as whole words
+     * (case-insensitive, punctuation ignored). The longest matching phrase wins, so "update user status"
+     * beats "user".
+     */
+    public IntentMapping detectIntent(String productId, String message) {
+        if (message == null) {
+            return null;
+        }
+        String text = " " + normalize(message) + " ";
+        IntentMapping best = null;
+        int bestLength = 0;
+        for (IntentMapping mapping : intentMappings.getOrDefault(productId, List.of())) {
+            for (String phrase : mapping.getPhrases()) {
+                String normalized = normalize(phrase);
+                if (normalized.length() > bestLength && text.contains(" " + normalized + " ")) {
+                    best = mapping;
+                    bestLength = normalized.length();
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Lower-case words separated by single spaces; "Can't log-in!" becomes "can t log in". */
+    private static String normalize(String text) {
+        return String.join(" ", text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")).trim();
+    }
+
+    /**
+     * Call the given APIs in parallel with a shared deadline. Cached results are reused; calls that miss the
+     * deadline are cancelled and reported as unavailable instead of failing the whole request.
+     * @return results in apiNames order
+     */
+    public Map<String, String> fetchApiData(String productId, String userId, List<String> apiNames) {
+        ProductDefinition def = productProperties.getDefinitions().get(productId);
+        Map<String, String> results = new LinkedHashMap<>();
+        if (def == null) {
+            return results;
+        }
+
+        Instant now = clock.now();
+        List<String> misses = new ArrayList<>();
+        for (String apiName : apiNames) {
+            if (def.getMutatingApis().contains(apiName)) {
+                log.info("[API] Skipping mutating API | product='{}' api='{}'", productId, apiName);
+                results.put(apiName, "not called automatically (changes data; needs explicit user confirmation)");
+                continue;
+            }
+            CachedResult cached = cache.get(cacheKey(userId, productId, apiName));
+            if (cached != null && cached.expiresAt.isAfter(now)) {
+                results.put(apiName, cached.body);
+            } else {
+                results.put(apiName, null);
+                misses.add(apiName);
+            }
+        }
+        if (misses.isEmpty()) {
+            log.info("[API] No calls needed (cached or mutating) | product='{}' user='{}' apis={}", productId, userId, apiNames);
+            return results;
+        }
+
+        long timeoutMs = productProperties.getApiTimeoutMs();
+        Instant deadline = now.plusMillis(timeoutMs);
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (String apiName : misses) {
+            tasks.add(() -> callApi(def, apiName, userId, deadline));
+        }
+
+        long start = System.nanoTime();
+        List<Future<String>> futures;
+        try {
+            futures = EXECUTOR.invokeAll(tasks, timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            misses.forEach(apiName -> results.put(apiName, "unavailable (interrupted)"));
+            return results;
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Instant expiresAt = clock.now().plusSeconds(productProperties.getApiCacheTtlSeconds());
+        for (int i = 0; i < misses.size(); i++) {
+            String apiName = misses.get(i);
+            Future<String> future = futures.get(i);
+            try {
+                String body = future.get();
+                results.put(apiName, body);
+                cache.put(cacheKey(userId, productId, apiName), new CachedResult(body, expiresAt));
+            } catch (CancellationException e) {
+                log.warn("[API] Deadline exceeded | product='{}' api='{}' timeout={}ms", productId, apiName, timeoutMs);
+                results.put(apiName, "unavailable (timed out)");
+            } catch (ExecutionException | InterruptedException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("[API] Call failed | product='{}' api='{}': {}", productId, apiName, cause.getMessage());
+                results.put(apiName, "unavailable (error)");
+            }
+        }
+
+        log.info("[API] Fan-out complete | product='{}' user='{}' calls={} cached={} elapsed={}ms",
+                productId, userId, misses.size(), apiNames.size() - misses.size(), elapsedMs);
+        return results;
+    }
+
+    /** Call a single product API with whatever is left of the shared deadline. */
+    private String callApi(ProductDefinition def, String apiName, String userId, Instant deadline) throws Exception {
+        Duration remaining = Duration.between(clock.now(), deadline);
+        if (remaining.isNegative() || remaining.isZero()) {
+            throw new TimeoutException("deadline already passed");
+        }
+        String url = def.getApiBaseUrl() + "/" + apiName + "?userId=" + URLEncoder.encode(userId, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(remaining)
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException("HTTP " + response.statusCode() + " from " + apiName);
+        }
+        return response.body();
+    }
+
+    private List<IntentMapping> loadIntentMappings(ObjectMapper objectMapper, String productId, ProductDefinition def) {
+        if (def.getIntentMappingFile() == null) {
+            return List.of();
+        }
+        try (InputStream in = new ClassPathResource(def.getIntentMappingFile()).getInputStream()) {
+            List<IntentMapping> mappings = objectMapper.readValue(in, new TypeReference<List<IntentMapping>>() {});
+            log.info("Loaded {} intent mappings | product='{}'", mappings.size(), productId);
+            return mappings;
+        } catch (IOException e) {
+            log.error("Failed to load intent mappings | product='{}' file='{}': {}", productId, def.getIntentMappingFile(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void evictExpired() {
+        Instant now = clock.now();
+        cache.entrySet().removeIf(entry -> !entry.getValue().expiresAt.isAfter(now));
+    }
+
+    private static String cacheKey(String userId, String productId, String apiName) {
+        return userId + ":" + productId + ":" + apiName;
+    }
+
+    private static class CachedResult {
+        private final String body;
+        private final Instant expiresAt;
+
+        CachedResult(String body, Instant expiresAt) {
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.ProductProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lays out prompts so the provider can cache their prefix. Each product gets one precompiled, byte-identical
+ * system prefix (guidelines + product knowledge); everything that changes per turn comes after it:
+ * prior turns as alternating user/assistant messages, then the new user message with any API data.
+ * Corpora too large for the prefix are searched per turn instead, and the matching passages are read
+ * from the corpus into the new user message.
+ */
+@Service
+public class PromptLayoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(PromptLayoutService.class);
+
+    private static final String GUIDELINES = """
+            You are a helpful assistant. Be concise and helpful.
+
+            IMPORTANT GUIDELINES:
+            1. If you believe you have resolved the user's issue, ask them to confirm: "Does this resolve your issue?"
+            2. If the user says thanks/resolved/done, respond with a brief closing message.
+            3. Keep track of the conversation context - user may switch between topics.
+            4. Be proactive in asking if the user needs anything else.
+            """;
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int DOCUMENT_OVERHEAD_CHARS = 8; // "\n## ", " [", "]\n", trailing "\n"
+
+    private final RagService ragService;
+    private final int ragTopK;
+    private final Map<String, CompiledPrefix> prefixes = new ConcurrentHashMap<>();
+    private final Set<String> retrievalProducts = ConcurrentHashMap.newKeySet();
+    private final CompiledPrefix defaultPrefix;
+
+    public PromptLayoutService(ProductProperties productProperties, RagService ragService) {
+        this.ragService = ragService;
+        this.ragTopK = productProperties.getRagTopK();
+        this.defaultPrefix = compile(GUIDELINES);
+        for (String productId : productProperties.getDefinitions().keySet()) {
+            RagCorpus corpus = ragService.getCorpus(productId);
+            boolean retrieval = estimateProductPrefixTokens(productId, corpus) > productProperties.getRagPrefixMaxTokens();
+            if (retrieval) {
+                retrievalProducts.add(productId);
+            }
+            CompiledPrefix prefix = compile(retrieval
+                    ? buildRetrievalPrefix(productId)
+                    : buildProductPrefix(productId, corpus));
+            prefixes.put(productId, prefix);
+            log.info("Compiled prompt prefix | product='{}' | {} | {} chars (~{} tokens) | sha256={}",
+                    productId, retrieval ? "retrieval top-" + ragTopK : "full corpus",
+                    prefix.text.length(), prefix.estimatedTokens, prefix.fingerprint);
+        }
+    }
+
+    /**
+     * @param history    prior turns of this thread (role/content maps), oldest first, excluding the new message
+     * @param apiContext product API data for this turn, or null
+     */
+    public List<Message> layout(String productId, List<Map<String, String>> history, String userMessage, String apiContext) {
+        List<Message> messages = new ArrayList<>(history.size() + 2);
+        messages.add(new SystemMessage(getPrefix(productId).text));
+
+        for (Map<String, String> turn : history) {
+            if ("assistant".equals(turn.get("role"))) {
+                messages.add(new AssistantMessage(turn.get("content")));
+            } else {
+                messages.add(new UserMessage(turn.get("content")));
+            }
+        }
+
+        StringBuilder turn = new StringBuilder(userMessage);
+        if (productId != null && retrievalProducts.contains(productId)) {
+            appendRetrievedPassages(turn, productId, userMessage);
+        }
+        if (apiContext != null && !apiContext.isEmpty()) {
+            turn.append("\n\n=== PRODUCT API DATA ===\n").append(apiContext).append("=== END API DATA ===\n");
+        }
+        messages.add(new UserMessage(turn.toString()));
+        return messages;
+    }
+
+    /** Estimated token count of the static prefix for a product (about 4 chars per token). */
+    public long getPrefixTokenEstimate(String productId) {
+        return getPrefix(productId).estimatedTokens;
+    }
+
+    /** Estimated prompt tokens of laid-out messages, at the same 4 chars per token as the prefix estimate. */
+    public long estimateTokens(List<Message> messages) {
+        long chars = 0;
+        for (Message message : messages) {
+            chars += message.getContent().length();
+        }
+        return chars / CHARS_PER_TOKEN;
+    }
+
+    public String getPrefixFingerprint(String productId) {
+        return getPrefix(productId).fingerprint;
+    }
+
+    private CompiledPrefix getPrefix(String productId) {
+        CompiledPrefix prefix = productId != null ? prefixes.get(productId) : null;
+        return prefix != null ? prefix : defaultPrefix;
+    }
+
+    private void appendRetrievedPassages(StringBuilder sb, String productId, String userMessage) {
+        int[] matches = ragService.retrieve(productId, userMessage, ragTopK);
+        if (matches.length == 0) {
+            return;
+        }
+        RagCorpus corpus = ragService.getCorpus(productId);
+        sb.append("\n\n=== RELEVANT DOCUMENTATION ===\n");
+        for (int doc : matches) {
+            appendDocument(sb, corpus, doc);
+        }
+        sb.append("=== END DOCUMENTATION ===\n");
+    }
+
+    private static String buildProductPrefix(String productId, RagCorpus corpus) {
+        StringBuilder sb = new StringBuilder(GUIDELINES);
+        if (corpus.size() > 0) {
+            sb.append("\n=== PRODUCT KNOWLEDGE: ").append(productId).append(" ===\n");
+            for (int doc = 0; doc < corpus.size(); doc++) {
+                appendDocument(sb, corpus, doc);
+            }
+            sb.append("=== END PRODUCT KNOWLEDGE ===\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Token estimate of {@link #buildProductPrefix} without building it. Content is measured in UTF-8 bytes,
+     * which never undercounts chars, so nothing is decoded.
+     */
+    private static long estimateProductPrefixTokens(String productId, RagCorpus corpus) {
+        long chars = GUIDELINES.length() + productId.length() + 64; // plus the knowledge section markers
+        for (int doc = 0; doc < corpus.size(); doc++) {
+            chars += corpus.getTitle(doc).length() + corpus.getId(doc).length()
+                    + corpus.getContentBytes(doc).remaining() + DOCUMENT_OVERHEAD_CHARS;
+        }
+        return chars / CHARS_PER_TOKEN;
+    }
+
+    private static String buildRetrievalPrefix(String productId) {
+        return GUIDELINES + "\nYou support the " + productId
+                + " product. Relevant documentation, when found, is included with the user's message.\n";
+    }
+
+    private static void appendDocument(StringBuilder sb, RagCorpus corpus, int doc) {
+        sb.append("\n## ").append(corpus.getTitle(doc)).append(" [").append(corpus.getId(doc)).append("]\n");
+        corpus.appendContent(doc, sb);
+        sb.append("\n");
+    }
+
+    private static CompiledPrefix compile(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return new CompiledPrefix(text, HexFormat.of().formatHex(digest, 0, 8), text.length() / CHARS_PER_TOKEN);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class CompiledPrefix {
+        private final String text;
+        private final String fingerprint;
+        private final long estimatedTokens;
+
+        CompiledPrefix(String text, String fingerprint, long estimatedTokens) {
+            this.text = text;
+            this.fingerprint = fingerprint;
+            this.estimatedTokens = estimatedTokens;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.enterprise.slackassistant.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-only columnar store of a product's RAG documents. Ids, titles, content and keywords live in
+ * separate segments, so scanning one column (keywords at startup) never pages in another (content).
+ * A corpus file is memory-mapped: documents cost no heap until a passage is read. {@link #getContentBytes} is
+ * a zero-copy view; {@link #appendContent} decodes from the mapping into the caller's builder.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ *   int magic "RAGC" | int version | int documentCount | int columnCount
+ *   columnCount x (long offset, long length)          -- segment table
+ *   per segment: int[documentCount + 1] offsets | UTF-8 data
+ * </pre>
+ * Offsets are relative to the segment's data start. The writer builds the file in memory, so one corpus is
+ * limited to 2 GB; split larger products. Keywords of one document are joined with '\n'.
+ */
+public class RagCorpus {
+
+    static final int MAGIC = 0x52414743; // "RAGC"
+    static final int VERSION = 1;
+
+    private static final int COLUMN_COUNT = 4;
+    private static final int HEADER_BYTES = 16 + COLUMN_COUNT * 16;
+    private static final RagCorpus EMPTY = new RagCorpus(0, new Column[] {
+            Column.empty(), Column.empty(), Column.empty(), Column.empty() });
+
+    private final int size;
+    private final Column ids;
+    private final Column titles;
+    private final Column contents;
+    private final Column keywords;
+
+    private RagCorpus(int size, Column[] columns) {
+        this.size = size;
+        this.ids = columns[0];
+        this.titles = columns[1];
+        this.contents = columns[2];
+        this.keywords = columns[3];
+    }
+
+    public static RagCorpus empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Maps a corpus file written by {@link #write}; each column becomes its own read-only mapping. The segment
+     * table and every column's offset index are checked up front (only the offsets are read, not the data),
+     * so a truncated or corrupt file fails here rather than on a later read.
+     *
+     * @throws IllegalArgumentException if the file is not a valid corpus
+     */
+    public static RagCorpus open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or EOF
+            }
+            header.flip();
+            String source = file.toString();
+            int size = readHeader(header, source);
+            long fileSize = channel.size();
+            long previousEnd = HEADER_BYTES;
+            Column[] columns = new Column[COLUMN_COUNT];
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                long offset = header.getLong();
+                long length = header.getLong();
+                // Segments follow the header in column order without overlapping, and fit in one mapping
+                if (offset < previousEnd || length < 0 || length > Integer.MAX_VALUE || offset > fileSize - length) {
+                    throw new IllegalArgumentException("Corrupt segment table (column " + c + " at " + offset
+                            + ", " + length + " bytes, file " + fileSize + " bytes): " + source);
+                }
+                previousEnd = offset + length;
+                columns[c] = new Column(channel.map(FileChannel.MapMode.READ_ONLY, offset, length), size);
+                columns[c].validate(size, c, source);
+            }
+            // Mappings stay valid after the channel is closed
+            return new RagCorpus(size, columns);
+        }
+    }
+
+    /** Builds an on-heap corpus with the same layout, for documents still shipped as JSON. */
+    public static RagCorpus fromDocuments(List<RagDocument> documents) {
+        if (documents.isEmpty()) {
+            return EMPTY;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(encode(documents)).asReadOnlyBuffer();
+        int size = readHeader(buffer.duplicate(), "in-memory corpus");
+        Column[] columns = new Column[COLUMN_COUNT];
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            int offset = (int) buffer.getLong(16 + c * 16);
+            int length = (int) buffer.getLong(24 + c * 16);
+            columns[c] = new Column(buffer.slice(offset, length), size);
+        }
+        return new RagCorpus(size, columns);
+    }
+
+    public static void write(List<RagDocument> documents, Path file) throws IOException {
+        Files.write(file, encode(documents));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getId(int index) {
+        return ids.getString(index);
+    }
+
+    public String getTitle(int index) {
+        return titles.getString(index);
+    }
+
+    public List<String> getKeywords(int index) {
+        String joined = keywords.getString(index);
+        return joined.isEmpty() ? List.of() : List.of(joined.split("\n"));
+    }
+
+    /** Zero-copy view of a document's UTF-8 content. */
+    public ByteBuffer getContentBytes(int index) {
+        return contents.slice(index);
+    }
+
+    /**
+     * Decodes a document's content from the mapping directly into {@code sb}. ASCII bytes are appended as they
+     * are read; anything after the first non-ASCII byte goes through a fixed 1 KB decode buffer, so no
+     * intermediate copy grows with the passage. Malformed UTF-8 is replaced, as {@link #getContent} does.
+     */
+    public void appendContent(int index, StringBuilder sb) {
+        ByteBuffer bytes = contents.slice(index);
+        sb.ensureCapacity(sb.length() + bytes.remaining());
+        int pos = bytes.position();
+        for (byte b; pos < bytes.limit() && (b = bytes.get(pos)) >= 0; pos++) {
+            sb.append((char) b);
+        }
+        bytes.position(pos);
+        if (!bytes.hasRemaining()) {
+            return;
+        }
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chunk = CharBuffer.allocate(1024);
+        CoderResult result;
+        do {
+            result = decoder.decode(bytes, chunk, true);
+            sb.append(chunk.array(), 0, chunk.position());
+            chunk.clear();
+        } while (result.isOverflow());
+        do {
+            result = decoder.flush(chunk);
+            sb.append(chunk.array(), 0, chunk.position());
+            chunk.clear();
+        } while (result.isOverflow());
+    }
+
+    public String getContent(int index) {
+        return contents.getString(index);
+    }
+
+    private static int readHeader(ByteBuffer header, String source) {
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a RAG corpus: " + source);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported RAG corpus version " + version + ": " + source);
+        }
+        int size = header.getInt();
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative document count " + size + ": " + source);
+        }
+        int columnCount = header.getInt();
+        if (columnCount != COLUMN_COUNT) {
+            throw new IllegalArgumentException("Unexpected column count " + columnCount + ": " + source);
+        }
+        return size;
+    }
+
+    private static byte[] encode(List<RagDocument> documents) {
+        List<byte[]> segments = new ArrayList<>(COLUMN_COUNT);
+        segments.add(encodeColumn(documents, RagDocument::getId));
+        segments.add(encodeColumn(documents, RagDocument::getTitle));
+        segments.add(encodeColumn(documents, RagDocument::getContent));
+        segments.add(encodeColumn(documents, doc -> doc.getKeywords() == null ? "" : String.join("\n", doc.getKeywords())));
+
+        long total = HEADER_BYTES;
+        for (byte[] segment : segments) {
+            total += segment.length;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Corpus exceeds 2 GB; split it per product");
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int) total);
+        out.putInt(MAGIC).putInt(VERSION).putInt(documents.size()).putInt(COLUMN_COUNT);
+        long offset = HEADER_BYTES;
+        for (byte[] segment : segments) {
+            out.putLong(offset).putLong(segment.length);
+            offset += segment.length;
+        }
+        for (byte[] segment : segments) {
+            out.put(segment);
+        }
+        return out.array();
+    }
+
+    private static byte[] encodeColumn(List<RagDocument> documents, Function<RagDocument, String> field) {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ByteBuffer offsets = ByteBuffer.allocate(4 * (documents.size() + 1));
+        for (RagDocument doc : documents) {
+            offsets.putInt(data.size());
+            String value = field.apply(doc);
+            data.writeBytes((value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+        }
+        offsets.putInt(data.size());
+
+        byte[] segment = new byte[offsets.capacity() + data.size()];
+        System.arraycopy(offsets.array(), 0, segment, 0, offsets.capacity());
+        System.arraycopy(data.toByteArray(), 0, segment, offsets.capacity(), data.size());
+        return segment;
+    }
+
+    /** One segment: an offset index followed by the concatenated UTF-8 values. */
+    private static class Column {
+        private final ByteBuffer segment;
+        private final int dataStart;
+
+        Column(ByteBuffer segment, int size) {
+            this.segment = segment;
+            this.dataStart = 4 * (size + 1);
+        }
+
+        static Column empty() {
+            return new Column(ByteBuffer.allocate(4), 0);
+        }
+
+        /** Offsets must start at 0, never decrease and end within the segment's data. */
+        void validate(int size, int column, String source) {
+            // In long arithmetic: for a corrupt document count, 4 * (size + 1) overflows the int dataStart
+            long dataLength = segment.limit() - 4 * (size + 1L);
+            if (dataLength < 0) {
+                throw new IllegalArgumentException("Column " + column + " too short for " + size
+                        + " document offsets: " + source);
+            }
+            int previous = segment.getInt(0);
+            if (previous != 0) {
+                throw new IllegalArgumentException("Column " + column + " offsets do not start at 0: " + source);
+            }
+            for (int i = 1; i <= size; i++) {
+                int next = segment.getInt(4 * i);
+                if (next < previous || next > dataLength) {
+                    throw new IllegalArgumentException("Column " + column + " offset " + i + " out of order or bounds ("
+                            + next + " after " + previous + ", data " + dataLength + " bytes): " + source);
+                }
+                previous = next;
+            }
+        }
+
+        ByteBuffer slice(int index) {
+            int start = segment.getInt(4 * index);
+            int end = segment.getInt(4 * (index + 1));
+            return segment.slice(dataStart + start, end - start);
+        }
+
+        String getString(int index) {
+            ByteBuffer value = slice(index);
+            byte[] bytes = new byte[value.remaining()];
+            value.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.enterprise.slackassistant.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One entry of a product's rag-docs file.
+ */
+public class RagDocument {
+    private String id;
+    private String title;
+    private String content;
+    private List<String> keywords = new ArrayList<>();
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(List<String> keywords) {
+        this.keywords = keywords;
+    }
+}
@@ -0,0 +1,187 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.ProductProperties;
+import com.enterprise.slackassistant.config.ProductProperties.ProductDefinition;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads each product's RAG corpus once at startup and serves its documents for prompt building.
+ * A product with a rag-corpus-file is memory-mapped (see {@link RagCorpus}); otherwise its rag-docs JSON
+ * is parsed into an on-heap corpus with the same layout. Only the keywords column is read at startup, to
+ * build the per-product keyword index used by {@link #retrieve}.
+ */
+@Service
+public class RagService {
+
+    private static final Logger log = LoggerFactory.getLogger(RagService.class);
+
+    private final Map<String, RagCorpus> corpora = new ConcurrentHashMap<>();
+    private final Map<String, KeywordIndex> indexes = new ConcurrentHashMap<>();
+
+    public RagService(ProductProperties productProperties, ObjectMapper objectMapper) {
+        productProperties.getDefinitions().forEach((productId, def) -> {
+            long start = System.nanoTime();
+            RagCorpus corpus = loadCorpus(objectMapper, productId, def);
+            corpora.put(productId, corpus);
+            indexes.put(productId, KeywordIndex.build(corpus));
+            if (corpus.size() > 0) {
+                log.info("Loaded {} RAG documents | product='{}' | {} ms", corpus.size(), productId,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        });
+    }
+
+    /** The product's documents (empty for unknown products). */
+    public RagCorpus getCorpus(String productId) {
+        RagCorpus corpus = productId != null ? corpora.get(productId) : null;
+        return corpus != null ? corpus : RagCorpus.empty();
+    }
+
+    /**
+     * Documents whose keywords appear in the message, best first: each matched keyword scores its word
+     * count, so specific phrases outrank single words. Ties keep file order.
+     *
+     * @return document indexes into {@link #getCorpus}, at most {@code limit}
+     */
+    public int[] retrieve(String productId, String message, int limit) {
+        KeywordIndex index = productId != null ? indexes.get(productId) : null;
+        if (index == null || message == null || limit <= 0) {
+            return new int[0];
+        }
+        return index.search(message, limit);
+    }
+
+    private RagCorpus loadCorpus(ObjectMapper objectMapper, String productId, ProductDefinition def) {
+        if (def.getRagCorpusFile() != null) {
+            try {
+                return RagCorpus.open(Path.of(def.getRagCorpusFile()));
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("Failed to map RAG corpus | product='{}' file='{}': {} - falling back to JSON",
+                        productId, def.getRagCorpusFile(), e.getMessage());
+            }
+        }
+        if (def.getRagDocsFile() == null) {
+            return RagCorpus.empty();
+        }
+        try (InputStream in = new ClassPathResource(def.getRagDocsFile()).getInputStream()) {
+            List<RagDocument> docs = objectMapper.readValue(in, new TypeReference<List<RagDocument>>() {});
+            return RagCorpus.fromDocuments(docs);
+        } catch (IOException e) {
+            log.error("Failed to load RAG documents | product='{}' file='{}': {}", productId, def.getRagDocsFile(), e.getMessage());
+            return RagCorpus.empty();
+        }
+    }
+
+    /** Lower-cases and reduces everything but letters and digits to single spaces, padded with spaces. */
+    static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 2).append(' ');
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            } else if (sb.charAt(sb.length() - 1) != ' ') {
+                sb.append(' ');
+            }
+        }
+        if (sb.charAt(sb.length() - 1) != ' ') {
+            sb.append(' ');
+        }
+        return sb.toString();
+    }
+
+    /** Keyword phrase -> documents, grouped by the phrase's first word so a query only tests plausible phrases. */
+    private static class KeywordIndex {
+        private final Map<String, List<Phrase>> byFirstWord;
+
+        private KeywordIndex(Map<String, List<Phrase>> byFirstWord) {
+            this.byFirstWord = byFirstWord;
+        }
+
+        static KeywordIndex build(RagCorpus corpus) {
+            Map<String, List<Integer>> docsByPhrase = new HashMap<>();
+            for (int i = 0; i < corpus.size(); i++) {
+                for (String keyword : corpus.getKeywords(i)) {
+                    String phrase = normalize(keyword);
+                    if (!phrase.isBlank()) {
+                        docsByPhrase.computeIfAbsent(phrase, p -> new ArrayList<>()).add(i);
+                    }
+                }
+            }
+            Map<String, List<Phrase>> byFirstWord = new HashMap<>();
+            docsByPhrase.forEach((phrase, docs) -> {
+                String[] words = phrase.trim().split(" ");
+                byFirstWord.computeIfAbsent(words[0], w -> new ArrayList<>())
+                        .add(new Phrase(phrase, words.length, docs.stream().mapToInt(Integer::intValue).toArray()));
+            });
+            return new KeywordIndex(byFirstWord);
+        }
+
+        int[] search(String message, int limit) {
+            String normalized = normalize(message);
+            Set<String> words = new HashSet<>(Arrays.asList(normalized.trim().split(" ")));
+            // Sparse: a query matches a handful of documents, so scoring costs nothing per corpus document
+            Map<Integer, Integer> scores = new HashMap<>();
+            for (String word : words) {
+                for (Phrase phrase : byFirstWord.getOrDefault(word, List.of())) {
+                    if (phrase.wordCount == 1 || normalized.contains(phrase.text)) {
+                        for (int doc : phrase.documents) {
+                            scores.merge(doc, phrase.wordCount, Integer::sum);
+                        }
+                    }
+                }
+            }
+
+            // Partial selection: keep the best `limit` documents, higher score first, then file order
+            int[] best = new int[Math.min(limit, scores.size())];
+            int bestCount = 0;
+            for (int doc : scores.keySet()) {
+                int pos = bestCount;
+                while (pos > 0 && ranksBefore(doc, best[pos - 1], scores)) {
+                    pos--;
+                }
+                if (pos < best.length) {
+                    int end = Math.min(bestCount, best.length - 1);
+                    System.arraycopy(best, pos, best, pos + 1, end - pos);
+                    best[pos] = doc;
+                    bestCount = Math.min(bestCount + 1, best.length);
+                }
+            }
+            return best;
+        }
+
+        private static boolean ranksBefore(int doc, int other, Map<Integer, Integer> scores) {
+            int score = scores.get(doc);
+            int otherScore = scores.get(other);
+            return score > otherScore || (score == otherScore && doc < other);
+        }
+    }
+
+    private static class Phrase {
+        private final String text;
+        private final int wordCount;
+        private final int[] documents;
+
+        Phrase(String text, int wordCount, int[] documents) {
+            this.text = text;
+            this.wordCount = wordCount;
+            this.documents = documents;
+        }
+    }
+}
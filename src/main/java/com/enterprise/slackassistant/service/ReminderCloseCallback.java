@@ -1,5 +1,9 @@
 package com.enterprise.slackassistant.service;
 
+/**
+ * Delivers a reminder or closure for a thread. Throws if the post did not go through, so the dispatcher
+ * does not count it as delivered.
+ */
 @FunctionalInterface
 public interface ReminderCloseCallback {
     void accept(String threadKey, String channelId, String threadTs);
@@ -0,0 +1,141 @@
+package com.enterprise.slackassistant.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Asynchronous dispatcher for reminder and closure callbacks. The scheduler only enqueues events; a
+ * background flusher drains them in batches and spreads the Slack posts out with random jitter and a
+ * minimum interval per channel. Events are deduplicated per thread while pending, and each event is
+ * re-validated right before delivery because queueing and pacing can delay it by minutes.
+ */
+@Service
+public class ReminderDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderDispatcher.class);
+
+    public enum EventType { REMINDER, CLOSURE }
+
+    private final int batchSize;
+    private final long maxJitterMs;
+    private final long channelIntervalMs;
+
+    private final Queue<DispatchEvent> queue = new ConcurrentLinkedQueue<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> nextChannelSlot = new ConcurrentHashMap<>();
+    private final LongAdder droppedStale = new LongAdder();
+    private final SchedulingClock clock;
+
+    public ReminderDispatcher(SchedulingClock clock,
+                              @Value("${slack.dispatch.batch-size:50}") int batchSize,
+                              @Value("${slack.dispatch.flush-interval-ms:200}") long flushIntervalMs,
+                              @Value("${slack.dispatch.max-jitter-ms:2000}") long maxJitterMs,
+                              @Value("${slack.dispatch.channel-interval-ms:1000}") long channelIntervalMs) {
+        this.batchSize = batchSize;
+        this.maxJitterMs = maxJitterMs;
+        this.channelIntervalMs = channelIntervalMs;
+        this.clock = clock;
+        clock.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a reminder or closure for asynchronous delivery. Returns immediately.
+     * @param stillDue checked just before delivery; the event is dropped if it returns false
+     * @return false if the same event is already pending for this thread
+     */
+    public boolean submit(EventType type, String threadKey, String channelId, String threadTs,
+                          BooleanSupplier stillDue, ReminderCloseCallback callback) {
+        String dedupeKey = dedupeKey(type, threadKey);
+        if (!pending.add(dedupeKey)) {
+            log.info("[DISPATCH] Duplicate {} ignored | threadKey={}", type, threadKey);
+            return false;
+        }
+        queue.add(new DispatchEvent(type, threadKey, channelId, threadTs, stillDue, callback));
+        return true;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /** Events dropped at delivery time because the thread saw new activity while they were queued. */
+    public long getDroppedStaleCount() {
+        return droppedStale.sum();
+    }
+
+    /** Drain up to one batch and schedule each event at a jittered, channel-paced slot. */
+    private void flush() {
+        long now = clock.now().toEpochMilli();
+        int drained = 0;
+        DispatchEvent event;
+        while (drained < batchSize && (event = queue.poll()) != null) {
+            // Jitter derived from the thread key: spreads a burst evenly but stays reproducible
+            long jitter = maxJitterMs > 0 ? Math.floorMod(event.threadKey.hashCode(), maxJitterMs + 1) : 0;
+            long earliest = now + jitter;
+            long slot = nextChannelSlot.merge(event.channelId, earliest + channelIntervalMs,
+                    (prev, candidate) -> Math.max(prev, earliest) + channelIntervalMs) - channelIntervalMs;
+
+            final DispatchEvent toSend = event;
+            clock.schedule(() -> clock.execute(() -> deliver(toSend)), slot - now, TimeUnit.MILLISECONDS);
+            drained++;
+        }
+        if (drained > 0) {
+            log.info("[DISPATCH] Flushed batch | events={} | stillQueued={}", drained, queue.size());
+        }
+        // Forget channels whose pacing window has passed so the map does not grow unbounded
+        nextChannelSlot.values().removeIf(slot -> slot < now);
+    }
+
+    private void deliver(DispatchEvent event) {
+        try {
+            // A pending closure supersedes a reminder for the same thread
+            if (event.type == EventType.REMINDER && pending.contains(dedupeKey(EventType.CLOSURE, event.threadKey))) {
+                log.info("[DISPATCH] Reminder skipped - closure pending | threadKey={}", event.threadKey);
+                return;
+            }
+            if (!event.stillDue.getAsBoolean()) {
+                droppedStale.increment();
+                log.info("[DISPATCH] {} dropped - thread active again since it was queued | threadKey={}",
+                        event.type, event.threadKey);
+                return;
+            }
+            event.callback.accept(event.threadKey, event.channelId, event.threadTs);
+        } catch (Exception e) {
+            log.error("[DISPATCH] Error delivering {} for thread {}: {}", event.type, event.threadKey, e.getMessage());
+        } finally {
+            pending.remove(dedupeKey(event.type, event.threadKey));
+        }
+    }
+
+    private static String dedupeKey(EventType type, String threadKey) {
+        return type + ":" + threadKey;
+    }
+
+    private static class DispatchEvent {
+        private final EventType type;
+        private final String threadKey;
+        private final String channelId;
+        private final String threadTs;
+        private final BooleanSupplier stillDue;
+        private final ReminderCloseCallback callback;
+
+        DispatchEvent(EventType type, String threadKey, String channelId, String threadTs,
+                      BooleanSupplier stillDue, ReminderCloseCallback callback) {
+            this.type = type;
+            this.threadKey = threadKey;
+            this.channelId = channelId;
+            this.threadTs = threadTs;
+            this.stillDue = stillDue;
+            this.callback = callback;
+        }
+    }
+}
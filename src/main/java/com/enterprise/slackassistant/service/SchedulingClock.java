@@ -0,0 +1,36 @@
+package com.enterprise.slackassistant.service;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Source of time and timers for the reminder, conversation and buffering services, and for the periodic
+ * eviction of the in-memory caches, so every timer stops when the context closes. Production uses
+ * {@link SystemSchedulingClock}; the simulation harness swaps in a virtual clock so hours of scheduling
+ * can be replayed deterministically in seconds.
+ */
+public interface SchedulingClock {
+
+    Instant now();
+
+    /** Run a task once after the given delay. */
+    Cancellable schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * Run a task periodically, starting after the initial delay. A run that throws is logged and the task
+     * keeps its schedule.
+     */
+    Cancellable scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit);
+
+    /** Like {@link #scheduleAtFixedRate}, but each run starts {@code delay} after the previous one ended. */
+    Cancellable scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit);
+
+    /** Run a (possibly blocking) task asynchronously, as soon as possible. */
+    void execute(Runnable task);
+
+    interface Cancellable {
+        void cancel();
+
+        boolean isDone();
+    }
+}
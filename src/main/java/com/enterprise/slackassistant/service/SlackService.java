@@ -4,12 +4,20 @@ import com.slack.api.methods.MethodsClient;
 import com.slack.api.methods.SlackApiException;
 import com.slack.api.methods.request.chat.ChatPostMessageRequest;
 import com.slack.api.methods.response.chat.ChatPostMessageResponse;
+import com.slack.api.methods.response.conversations.ConversationsInfoResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Posts to and looks up Slack channels. Channels are addressed by {@link WorkspaceRegistry#channelKey channel
+ * key}, so each call goes out through the client of the workspace the message came from.
+ */
 @Service
 public class SlackService {
 
@@ -17,21 +25,29 @@ public class SlackService {
     private static final int MAX_MESSAGE_LENGTH = 3900; // Slack limit is 4000, leave buffer
 
     private final MethodsClient methodsClient;
+    private final WorkspaceRegistry workspaceRegistry;
+    private final Map<String, String> channelNames = new ConcurrentHashMap<>();
 
-    public SlackService(MethodsClient methodsClient) {
-        this.methodsClient = methodsClient;
+    /** @param methodsClient the single-team client; not registered in multi-workspace mode */
+    public SlackService(ObjectProvider<MethodsClient> methodsClient, WorkspaceRegistry workspaceRegistry) {
+        this.methodsClient = methodsClient.getIfAvailable();
+        this.workspaceRegistry = workspaceRegistry;
     }
 
-    public void postMessage(String channelId, String text) {
-        postMessage(channelId, text, null);
+    public boolean postMessage(String channelKey, String text) {
+        return postMessage(channelKey, text, null);
     }
 
-    public void postMessage(String channelId, String text, String threadTs) {
+    /**
+     * Post a message, split into parts when it is too long. Failures are logged, not thrown.
+     * @return true if every part was posted
+     */
+    public boolean postMessage(String channelKey, String text, String threadTs) {
+        String channelId = WorkspaceRegistry.channelIdOf(channelKey);
         try {
             // Split long messages
             if (text.length() > MAX_MESSAGE_LENGTH) {
-                postLongMessage(channelId, text, threadTs);
-                return;
+                return postLongMessage(channelKey, text, threadTs);
             }
 
             ChatPostMessageRequest.ChatPostMessageRequestBuilder builder = 
@@ -45,21 +61,47 @@ public class SlackService {
                 builder.threadTs(threadTs);
             }
 
-            ChatPostMessageResponse response = methodsClient.chatPostMessage(builder.build());
+            ChatPostMessageResponse response = clientFor(channelKey).chatPostMessage(builder.build());
             
             if (response.isOk()) {
-                log.info("[SLACK] Posted to Slack | channel='{}' threadTs='{}'", channelId, threadTs);
-            } else {
-                log.error("Slack error: {}", response.getError());
+                log.info("[SLACK] Posted to Slack | channel='{}' threadTs='{}'", channelKey, threadTs);
+                return true;
             }
-        } catch (SlackApiException | IOException e) {
+            log.error("Slack error: {}", response.getError());
+        } catch (SlackApiException | IOException | IllegalStateException e) {
             log.error("Failed to post to Slack: {}", e.getMessage());
         }
+        return false;
     }
 
-    private void postLongMessage(String channelId, String text, String threadTs) {
+    /**
+     * Resolve a channel ID to its name (used for product routing). Names are cached; returns null on failure.
+     */
+    public String getChannelName(String channelKey) {
+        String cached = channelNames.get(channelKey);
+        if (cached != null) {
+            return cached;
+        }
+        String channelId = WorkspaceRegistry.channelIdOf(channelKey);
+        try {
+            ConversationsInfoResponse response = clientFor(channelKey).conversationsInfo(r -> r.channel(channelId));
+            if (response.isOk() && response.getChannel() != null) {
+                String name = response.getChannel().getName();
+                channelNames.put(channelKey, name);
+                return name;
+            }
+            log.error("Slack error resolving channel {}: {}", channelId, response.getError());
+        } catch (SlackApiException | IOException | IllegalStateException e) {
+            log.error("Failed to resolve channel {}: {}", channelId, e.getMessage());
+        }
+        return null;
+    }
+
+    private boolean postLongMessage(String channelKey, String text, String threadTs) {
+        String channelId = WorkspaceRegistry.channelIdOf(channelKey);
         int start = 0;
         int part = 1;
+        boolean allPosted = true;
         
         while (start < text.length()) {
             int end = Math.min(start + MAX_MESSAGE_LENGTH, text.length());
@@ -89,13 +131,37 @@ public class SlackService {
                     builder.threadTs(threadTs);
                 }
 
-                methodsClient.chatPostMessage(builder.build());
+                ChatPostMessageResponse response = clientFor(channelKey).chatPostMessage(builder.build());
+                if (!response.isOk()) {
+                    log.error("Slack error on part {}: {}", part, response.getError());
+                    allPosted = false;
+                }
             } catch (Exception e) {
                 log.error("Failed to post part {}: {}", part, e.getMessage());
+                allPosted = false;
             }
 
             start = end;
             part++;
         }
+        return allPosted;
+    }
+
+    /**
+     * The client of the workspace in the channel key in multi-workspace mode, otherwise the single-team client.
+     *
+     * @throws IllegalStateException in multi-workspace mode when the key has no team or the team is no longer
+     *                               installed; there is no token to fall back to
+     */
+    private MethodsClient clientFor(String channelKey) {
+        if (!workspaceRegistry.isMultiWorkspace()) {
+            return methodsClient;
+        }
+        String teamId = WorkspaceRegistry.teamIdOf(channelKey);
+        MethodsClient client = teamId != null ? workspaceRegistry.getClient(teamId) : null;
+        if (client == null) {
+            throw new IllegalStateException("No installed workspace for channel " + channelKey);
+        }
+        return client;
     }
 }
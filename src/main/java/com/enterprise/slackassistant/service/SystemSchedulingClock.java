@@ -0,0 +1,78 @@
+package com.enterprise.slackassistant.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.*;
+
+/**
+ * Wall-clock {@link SchedulingClock} backed by a shared scheduled pool; async work runs on virtual threads.
+ * Every task is guarded so an exception is logged instead of silently cancelling a periodic task, which is
+ * what a raw ScheduledExecutorService does.
+ */
+@Component
+public class SystemSchedulingClock implements SchedulingClock {
+
+    private static final Logger log = LoggerFactory.getLogger(SystemSchedulingClock.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+
+    @Override
+    public Instant now() {
+        return Instant.now();
+    }
+
+    @Override
+    public Cancellable schedule(Runnable task, long delay, TimeUnit unit) {
+        return wrap(scheduler.schedule(guarded(task), delay, unit));
+    }
+
+    @Override
+    public Cancellable scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return wrap(scheduler.scheduleAtFixedRate(guarded(task), initialDelay, period, unit));
+    }
+
+    @Override
+    public Cancellable scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        return wrap(scheduler.scheduleWithFixedDelay(guarded(task), initialDelay, delay, unit));
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.submit(guarded(task));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("[SCHEDULER] Task failed: {}", e.getMessage(), e);
+            }
+        };
+    }
+
+    private static Cancellable wrap(ScheduledFuture<?> future) {
+        return new Cancellable() {
+            @Override
+            public void cancel() {
+                future.cancel(false);
+            }
+
+            @Override
+            public boolean isDone() {
+                return future.isDone();
+            }
+        };
+    }
+}
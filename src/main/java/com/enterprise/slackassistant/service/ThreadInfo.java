@@ -10,14 +10,14 @@ public class ThreadInfo {
     private final String sessionId;
     private Instant lastUserTime;
     private Instant lastBotTime;
-    private int reminderCount;
+    private volatile int reminderCount; // incremented by the dispatcher thread once a reminder is posted
     private String channelId;
     private String threadTs;
     private boolean botProcessing = false; // true while LLM is working; skip scheduler checks
 
-    public ThreadInfo(String sessionId) {
+    public ThreadInfo(String sessionId, Instant createdAt) {
         this.sessionId = sessionId;
-        this.lastUserTime = Instant.now();
+        this.lastUserTime = createdAt;
         this.lastBotTime = null;
         this.reminderCount = 0;
     }
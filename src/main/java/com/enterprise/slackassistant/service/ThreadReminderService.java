@@ -3,7 +3,6 @@ package com.enterprise.slackassistant.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -11,6 +10,8 @@ import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 /**
  * Service that manages Slack thread reminders and closures based purely on user/bot activity timestamps.
@@ -21,17 +22,28 @@ public class ThreadReminderService {
 
     private static final Logger log = LoggerFactory.getLogger(ThreadReminderService.class);
 
-    @Value("${slack.reminder-threshold-minutes:1}")
-    private long reminderThresholdMinutes;
-
-    @Value("${slack.closure-threshold-minutes:2}")
-    private long closureThresholdMinutes;
+    private final long reminderThresholdMinutes;
+    private final long closureThresholdMinutes;
 
     private final Map<String, ThreadInfo> threads = new ConcurrentHashMap<>();
+    private final ReminderDispatcher dispatcher;
+    private final SchedulingClock clock;
 
     private ReminderCloseCallback reminderCallback;
     private ReminderCloseCallback closeCallback;
 
+    public ThreadReminderService(ReminderDispatcher dispatcher,
+                                 SchedulingClock clock,
+                                 @Value("${slack.reminder-threshold-minutes:1}") long reminderThresholdMinutes,
+                                 @Value("${slack.closure-threshold-minutes:2}") long closureThresholdMinutes,
+                                 @Value("${slack.reminder-check-interval-ms:3000}") long checkIntervalMs) {
+        this.dispatcher = dispatcher;
+        this.clock = clock;
+        this.reminderThresholdMinutes = reminderThresholdMinutes;
+        this.closureThresholdMinutes = closureThresholdMinutes;
+        clock.scheduleAtFixedRate(this::checkThreadsScheduled, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
     public void setReminderCallback(ReminderCloseCallback callback) {
         this.reminderCallback = callback;
     }
@@ -43,6 +55,7 @@ public class ThreadReminderService {
     /**
      * Record that a user sent a message. Tracks timestamp only (no content).
      * @param threadKey threadTs if in a thread, or "channelId:userId" for channel messages (never null)
+     * @param channelId the channel key reminders and closures are posted to (see WorkspaceRegistry)
      */
     public void recordUserMessage(String threadKey, String channelId, String threadTs) {
         if (threadKey == null || threadKey.isBlank()) {
@@ -51,11 +64,11 @@ public class ThreadReminderService {
         }
         threads.compute(threadKey, (key, existing) -> {
             if (existing == null) {
-                existing = new ThreadInfo(UUID.randomUUID().toString());
+                existing = new ThreadInfo(UUID.randomUUID().toString(), clock.now());
                 log.info("───────────────────────────────────────────────────────────");
                 log.info("[THREAD LIFECYCLE] New thread created | threadKey={} | sessionId={}", key, existing.getSessionId());
             }
-            existing.setLastUserTime(Instant.now());
+            existing.setLastUserTime(clock.now());
             existing.setChannelId(channelId);
             existing.setThreadTs(threadTs);
             existing.setBotProcessing(true); // LLM is about to process
@@ -70,7 +83,7 @@ public class ThreadReminderService {
     public void recordBotResponse(String threadKey) {
         ThreadInfo info = threads.get(threadKey);
         if (info != null) {
-            info.setLastBotTime(Instant.now());
+            info.setLastBotTime(clock.now());
             info.setBotProcessing(false); // LLM done
             log.info("[BOT ACTIVITY] Bot response sent | threadKey={} | lastBotTime={} | botProcessing=false", threadKey, info.getLastBotTime());
         } else {
@@ -90,16 +103,16 @@ public class ThreadReminderService {
     }
 
     /**
-     * Scheduler that runs every 5 minutes to check thread inactivity and trigger actions.
-     * Checks reminder and closure rules for each tracked thread.
+     * Scheduler tick (every {@code slack.reminder-check-interval-ms} on the injected clock) that checks thread
+     * inactivity and triggers actions. Checks reminder and closure rules for each tracked thread.
      */
-    @Scheduled(fixedRate = 3000) // every 1 minute
     public void checkThreadsScheduled() {
         log.info("───────────────────────────────────────────────────────────");
         log.info("[SCHEDULER] Running | Active threads: {} | Reminder threshold: {} min | Closure threshold: {} min",
                 threads.size(), reminderThresholdMinutes, closureThresholdMinutes);
 
-        Instant now = Instant.now();
+        long tickStart = System.nanoTime();
+        Instant now = clock.now();
 
         for (Map.Entry<String, ThreadInfo> entry : threads.entrySet()) {
             String threadKey = entry.getKey();
@@ -152,23 +165,37 @@ public class ThreadReminderService {
             }
         }
 
-        log.info("[SCHEDULER] Completed | Remaining threads: {}", threads.size());
+        log.info("[SCHEDULER] Completed | Remaining threads: {} | Pending dispatches: {} | Tick took {} ms",
+                threads.size(), dispatcher.getPendingCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tickStart));
         log.info("───────────────────────────────────────────────────────────");
     }
 
     /**
      * Send reminder for a thread. Called by scheduler when reminder rule is met.
-     * Sends only once per thread (reminderCount is incremented).
+     * The reminder is queued on the dispatcher; the Slack post happens asynchronously.
+     * reminderCount is only incremented once the post succeeds, so a reminder that is dropped as stale or
+     * fails to post is tried again on a later tick; the dispatcher's dedupe stops repeats while it is queued.
      */
     public void sendReminder(String threadKey) {
         ThreadInfo info = threads.get(threadKey);
         if (info != null && reminderCallback != null && info.getChannelId() != null) {
-            try {
-                reminderCallback.accept(threadKey, info.getChannelId(), info.getThreadTs());
-                info.incrementReminderCount();
-            } catch (Exception e) {
-                log.error("[REMINDER] Error sending reminder for thread {}: {}", threadKey, e.getMessage());
-            }
+            // Still due only if the user has not written (and no new session started) since it was queued
+            String sessionId = info.getSessionId();
+            Instant lastUserTime = info.getLastUserTime();
+            BooleanSupplier stillDue = () -> {
+                ThreadInfo current = threads.get(threadKey);
+                return current != null && current.getSessionId().equals(sessionId)
+                        && current.getLastUserTime().equals(lastUserTime) && !current.isBotProcessing();
+            };
+            ReminderCloseCallback remindAndCount = (key, channelId, threadTs) -> {
+                reminderCallback.accept(key, channelId, threadTs);
+                ThreadInfo current = threads.get(key);
+                if (current != null && current.getSessionId().equals(sessionId)) {
+                    current.incrementReminderCount();
+                }
+            };
+            dispatcher.submit(ReminderDispatcher.EventType.REMINDER, threadKey,
+                    info.getChannelId(), info.getThreadTs(), stillDue, remindAndCount);
         }
     }
 
@@ -187,18 +214,16 @@ public class ThreadReminderService {
     }
 
     /**
-     * Close a thread and remove from map. Invokes close callback if set.
+     * Close a thread and remove from map. Queues the close callback on the dispatcher if set.
      * Called by scheduler when closure rule is met, or manually for testing.
      */
     public void closeThread(String threadKey) {
         ThreadInfo removed = threads.remove(threadKey);
         if (removed != null) {
             if (closeCallback != null && removed.getChannelId() != null) {
-                try {
-                    closeCallback.accept(threadKey, removed.getChannelId(), removed.getThreadTs());
-                } catch (Exception e) {
-                    log.error("[CLOSURE] Error executing close callback for thread {}: {}", threadKey, e.getMessage());
-                }
+                // A new user message re-creates the thread; the closure is then stale
+                dispatcher.submit(ReminderDispatcher.EventType.CLOSURE, threadKey,
+                        removed.getChannelId(), removed.getThreadTs(), () -> !threads.containsKey(threadKey), closeCallback);
             }
             log.info("[CLOSURE] Thread closed | threadKey={} | sessionId={}", threadKey, removed.getSessionId());
         }
@@ -0,0 +1,97 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.SlackProperties;
+import com.slack.api.bolt.model.Bot;
+import com.slack.api.bolt.model.Installer;
+import com.slack.api.bolt.model.builtin.DefaultBot;
+import com.slack.api.bolt.service.InstallationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory installation store for multi-workspace mode. Seeded from slack.workspaces.installations
+ * and updated by Bolt when a workspace installs or uninstalls the app. Only bot tokens are kept.
+ */
+@Service
+public class WorkspaceInstallationService implements InstallationService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkspaceInstallationService.class);
+
+    private final Map<String, Bot> bots = new ConcurrentHashMap<>();
+    private boolean historicalDataEnabled = false;
+
+    public WorkspaceInstallationService(SlackProperties slackProperties) {
+        slackProperties.getWorkspaces().getInstallations().forEach((teamId, botToken) -> {
+            DefaultBot bot = new DefaultBot();
+            bot.setTeamId(teamId);
+            bot.setBotAccessToken(botToken);
+            bots.put(teamId, bot);
+        });
+        if (!bots.isEmpty()) {
+            log.info("Loaded {} workspace installations", bots.size());
+        }
+    }
+
+    public boolean isMultiWorkspace() {
+        return !bots.isEmpty();
+    }
+
+    public int getInstallationCount() {
+        return bots.size();
+    }
+
+    /** @return the bot token for a team, or null when the team is not installed */
+    public String findBotToken(String teamId) {
+        Bot bot = teamId != null ? bots.get(teamId) : null;
+        return bot != null ? bot.getBotAccessToken() : null;
+    }
+
+    @Override
+    public boolean isHistoricalDataEnabled() {
+        return historicalDataEnabled;
+    }
+
+    @Override
+    public void setHistoricalDataEnabled(boolean isHistoricalDataEnabled) {
+        this.historicalDataEnabled = isHistoricalDataEnabled;
+    }
+
+    @Override
+    public void saveInstallerAndBot(Installer installer) {
+        Bot bot = installer.toBot();
+        if (bot != null && bot.getTeamId() != null) {
+            bots.put(bot.getTeamId(), bot);
+            log.info("[WORKSPACE] Installed | team='{}'", bot.getTeamId());
+        }
+    }
+
+    @Override
+    public void deleteBot(Bot bot) {
+        if (bot != null && bot.getTeamId() != null && bots.remove(bot.getTeamId()) != null) {
+            log.info("[WORKSPACE] Uninstalled | team='{}'", bot.getTeamId());
+        }
+    }
+
+    @Override
+    public void deleteInstaller(Installer installer) {
+        // Installer (user) tokens are never stored
+    }
+
+    @Override
+    public Bot findBot(String enterpriseId, String teamId) {
+        Bot bot = teamId != null ? bots.get(teamId) : null;
+        if (bot == null && enterpriseId != null) {
+            bot = bots.get(enterpriseId);
+        }
+        return bot;
+    }
+
+    @Override
+    public Installer findInstaller(String enterpriseId, String teamId, String userId) {
+        return null;
+    }
+}
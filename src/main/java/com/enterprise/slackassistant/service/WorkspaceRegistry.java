@@ -0,0 +1,166 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.SlackProperties;
+import com.slack.api.Slack;
+import com.slack.api.methods.MethodsClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-workspace resources for multi-workspace mode: each installed team's MethodsClient and a per-team
+ * concurrency limit so one noisy workspace cannot take all the processing capacity. Both live in one
+ * LRU-cached entry per team, bounded by client-cache-size; entries with work in flight are kept until idle.
+ * <p>
+ * Channel IDs are not unique across workspaces: a Slack Connect channel has the same ID in every
+ * organization sharing it. Channels are therefore addressed by a {@link #channelKey channel key} of the
+ * form {@code teamId:channelId}, which carries the team to reply through and scopes conversation and
+ * thread state to that workspace.
+ */
+@Service
+public class WorkspaceRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkspaceRegistry.class);
+    private static final char KEY_SEPARATOR = ':';
+
+    private final Slack slack;
+    private final WorkspaceInstallationService installationService;
+    private final int maxConcurrentPerTeam;
+    private final int cacheSize;
+    private final LinkedHashMap<String, Workspace> workspaces = new LinkedHashMap<>(16, 0.75f, true);
+
+    public WorkspaceRegistry(Slack slack, WorkspaceInstallationService installationService, SlackProperties slackProperties) {
+        this.slack = slack;
+        this.installationService = installationService;
+        this.maxConcurrentPerTeam = slackProperties.getWorkspaces().getMaxConcurrentPerTeam();
+        this.cacheSize = slackProperties.getWorkspaces().getClientCacheSize();
+    }
+
+    public boolean isMultiWorkspace() {
+        return installationService.isMultiWorkspace();
+    }
+
+    /** @return {@code teamId:channelId}, or the bare channel ID when the team is unknown */
+    public static String channelKey(String teamId, String channelId) {
+        return teamId != null ? teamId + KEY_SEPARATOR + channelId : channelId;
+    }
+
+    /** @return the team part of a channel key, or null for a bare channel ID */
+    public static String teamIdOf(String channelKey) {
+        int separator = channelKey.indexOf(KEY_SEPARATOR);
+        return separator >= 0 ? channelKey.substring(0, separator) : null;
+    }
+
+    /** @return the Slack channel ID of a channel key */
+    public static String channelIdOf(String channelKey) {
+        return channelKey.substring(channelKey.indexOf(KEY_SEPARATOR) + 1);
+    }
+
+    /** @return the team's client, created on first use; null when the team is not installed */
+    public MethodsClient getClient(String teamId) {
+        Workspace workspace = workspace(teamId);
+        return workspace != null ? workspace.client : null;
+    }
+
+    /**
+     * Run a task under the team's concurrency limit. In multi-workspace mode this blocks the calling
+     * (virtual) thread while the team is at its limit; other teams are unaffected. A single workspace has
+     * nobody to be fair to, so tasks run unlimited, as do tasks for a team that is no longer installed.
+     */
+    public void runForTeam(String teamId, Runnable task) {
+        Workspace workspace = isMultiWorkspace() ? workspace(teamId) : null;
+        if (workspace == null) {
+            task.run();
+            return;
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            workspace.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[WORKSPACE] Interrupted waiting for a permit | team='{}'", teamId);
+            return;
+        }
+        workspace.waitNanos.add(System.nanoTime() - waitStart);
+        try {
+            task.run();
+        } finally {
+            workspace.permits.release();
+            workspace.completed.increment();
+        }
+    }
+
+    /** Per cached team: completed tasks, tasks in flight and average wait for a permit. */
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        synchronized (workspaces) {
+            workspaces.forEach((teamId, workspace) -> {
+                long completed = workspace.completed.sum();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("completed", completed);
+                entry.put("inFlight", maxConcurrentPerTeam - workspace.permits.availablePermits());
+                entry.put("avgWaitMs", completed > 0 ? TimeUnit.NANOSECONDS.toMillis(workspace.waitNanos.sum() / completed) : 0);
+                stats.put(teamId, entry);
+            });
+        }
+        return stats;
+    }
+
+    public int getCachedClientCount() {
+        synchronized (workspaces) {
+            return workspaces.size();
+        }
+    }
+
+    private Workspace workspace(String teamId) {
+        String token = installationService.findBotToken(teamId);
+        if (token == null) {
+            return null;
+        }
+        synchronized (workspaces) {
+            Workspace workspace = workspaces.get(teamId);
+            if (workspace == null) {
+                workspace = new Workspace(slack.methods(token, teamId), maxConcurrentPerTeam);
+                workspaces.put(teamId, workspace);
+                evictIdle(teamId);
+                log.info("[WORKSPACE] Client created | team='{}' | cached clients={}", teamId, workspaces.size());
+            }
+            return workspace;
+        }
+    }
+
+    /** Drop least recently used idle workspaces until the cache fits; busy ones stay until their work is done. */
+    private void evictIdle(String newTeamId) {
+        Iterator<Map.Entry<String, Workspace>> eldestFirst = workspaces.entrySet().iterator();
+        while (workspaces.size() > cacheSize && eldestFirst.hasNext()) {
+            Map.Entry<String, Workspace> entry = eldestFirst.next();
+            if (!entry.getKey().equals(newTeamId) && entry.getValue().isIdle(maxConcurrentPerTeam)) {
+                eldestFirst.remove();
+            }
+        }
+    }
+
+    private static class Workspace {
+        private final MethodsClient client;
+        private final Semaphore permits;
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+
+        Workspace(MethodsClient client, int maxConcurrent) {
+            this.client = client;
+            this.permits = new Semaphore(maxConcurrent, true);
+        }
+
+        boolean isIdle(int maxConcurrent) {
+            return permits.availablePermits() == maxConcurrent && !permits.hasQueuedThreads();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.enterprise.slackassistant.tools;
+
+import com.enterprise.slackassistant.service.RagCorpus;
+import com.enterprise.slackassistant.service.RagDocument;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Converts a rag-docs JSON file (array of {id, title, content, keywords}) into the memory-mapped corpus
+ * format read by {@link RagCorpus}, then reopens the result and checks it against the input.
+ * <p>
+ * Usage: {@code RagCorpusConverter <rag-docs.json> <output.ragc>}
+ */
+public class RagCorpusConverter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: RagCorpusConverter <rag-docs.json> <output.ragc>");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+
+        long start = System.nanoTime();
+        List<RagDocument> documents = convert(new ObjectMapper(), input, output);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("Converted %d documents | %s (%d KB) -> %s (%d KB) | %d ms%n",
+                documents.size(), input, Files.size(input) >> 10, output, Files.size(output) >> 10, elapsedMs);
+    }
+
+    public static List<RagDocument> convert(ObjectMapper objectMapper, Path input, Path output) throws IOException {
+        List<RagDocument> documents = objectMapper.readValue(input.toFile(), new TypeReference<List<RagDocument>>() {});
+        RagCorpus.write(documents, output);
+        verify(documents, RagCorpus.open(output));
+        return documents;
+    }
+
+    private static void verify(List<RagDocument> documents, RagCorpus corpus) {
+        if (corpus.size() != documents.size()) {
+            throw new IllegalStateException("Document count mismatch: " + corpus.size() + " != " + documents.size());
+        }
+        for (int i = 0; i < documents.size(); i++) {
+            RagDocument doc = documents.get(i);
+            if (!Objects.toString(doc.getId(), "").equals(corpus.getId(i))
+                    || !Objects.toString(doc.getContent(), "").equals(corpus.getContent(i))) {
+                throw new IllegalStateException("Document " + i + " (" + doc.getId() + ") did not round-trip");
+            }
+        }
+    }
+}
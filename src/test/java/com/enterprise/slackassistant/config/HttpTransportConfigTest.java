@@ -0,0 +1,189 @@
+package com.enterprise.slackassistant.config;
+
+import com.enterprise.slackassistant.config.HttpTransportConfig.CachingDns;
+import com.enterprise.slackassistant.service.HttpTransportMetrics;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpTransportConfigTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void dnsCachesSuccessfulAndFailedLookups() throws UnknownHostException {
+        AtomicInteger lookups = new AtomicInteger();
+        CachingDns dns = new CachingDns(hostname -> {
+            lookups.incrementAndGet();
+            if (hostname.startsWith("missing")) {
+                throw new UnknownHostException(hostname + ": Name or service not known");
+            }
+            return List.of(InetAddress.getLoopbackAddress());
+        }, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        dns.lookup("api.example.com");
+        dns.lookup("api.example.com");
+        assertThat(lookups).hasValue(1);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> dns.lookup("missing.example.com"))
+                    .isInstanceOf(UnknownHostException.class)
+                    .hasMessageContaining("missing.example.com");
+        }
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void dnsEvictsExpiredLookupsAndCanSkipNegativeCaching() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        CachingDns dns = new CachingDns(hostname -> {
+            lookups.incrementAndGet();
+            if (hostname.startsWith("missing")) {
+                throw new UnknownHostException(hostname);
+            }
+            return List.of(InetAddress.getLoopbackAddress());
+        }, Duration.ofMillis(50), Duration.ZERO);
+
+        for (int i = 0; i < 10; i++) {
+            dns.lookup("host" + i + ".example.com");
+        }
+        assertThat(dns.size()).isEqualTo(10);
+        Thread.sleep(100);
+        dns.lookup("fresh.example.com");
+        assertThat(dns.size()).isEqualTo(1);
+
+        assertThatThrownBy(() -> dns.lookup("missing.example.com")).isInstanceOf(UnknownHostException.class);
+        assertThatThrownBy(() -> dns.lookup("missing.example.com")).isInstanceOf(UnknownHostException.class);
+        assertThat(lookups).hasValue(13);
+    }
+
+    @Test
+    void restClientRequestsGoThroughTheSharedClient() throws IOException {
+        startServer(0);
+        HttpTransportMetrics metrics = new HttpTransportMetrics();
+        OkHttpClient client = new HttpTransportConfig().sharedHttpClient(new HttpTransportProperties(), metrics);
+        RestClient restClient = RestClient.builder()
+                .requestFactory(new OkHttpClientHttpRequestFactory(client))
+                .baseUrl(baseUrl())
+                .build();
+
+        ResponseEntity<String> get = restClient.get().uri("/models").retrieve().toEntity(String.class);
+        String post = restClient.post().uri("/chat").contentType(MediaType.APPLICATION_JSON)
+                .body("{\"q\":\"hi\"}").retrieve().body(String.class);
+
+        assertThat(get.getStatusCode().value()).isEqualTo(200);
+        assertThat(get.getHeaders().getFirst("X-Method")).isEqualTo("GET");
+        assertThat(post).isEqualTo("POST application/json {\"q\":\"hi\"}");
+        assertThat(metrics.snapshot()).containsEntry("newConnections", 1L).containsEntry("reusedConnections", 1L);
+    }
+
+    @Test
+    void warmupIsOffByDefault() throws IOException {
+        startServer(0);
+        HttpTransportProperties properties = new HttpTransportProperties();
+        properties.getWarmup().setUrls(List.of(baseUrl()));
+
+        new HttpTransportWarmup(new OkHttpClient(), properties, new HttpTransportMetrics()).run(null);
+
+        assertThat(requests).hasValue(0);
+    }
+
+    @Test
+    void warmupGivesUpAfterItsTimeout() throws IOException {
+        startServer(5000);
+        HttpTransportProperties properties = new HttpTransportProperties();
+        properties.getWarmup().setEnabled(true);
+        properties.getWarmup().setUrls(List.of(baseUrl()));
+        properties.getWarmup().setTimeoutMs(300);
+
+        long start = System.nanoTime();
+        new HttpTransportWarmup(new OkHttpClient(), properties, new HttpTransportMetrics()).run(null);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+    }
+
+    @Test
+    void failedConnectsAreCountedAndTheNextRouteIsTimedOnItsOwn() throws IOException {
+        startServer(0);
+        HttpTransportMetrics metrics = new HttpTransportMetrics();
+        // A slow lookup, then the first address refuses the connection and OkHttp tries the second one
+        OkHttpClient client = new OkHttpClient.Builder()
+                .dns(hostname -> {
+                    sleep(300);
+                    return List.of(InetAddress.getByName("127.0.0.2"), InetAddress.getByName("127.0.0.1"));
+                })
+                .eventListenerFactory(metrics)
+                .build();
+
+        try (Response response = client.newCall(new Request.Builder().url(baseUrl() + "/models").build()).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+
+        Map<String, Object> stats = metrics.snapshot();
+        assertThat(stats).containsEntry("failedConnects", 1L).containsEntry("newConnections", 1L)
+                .containsEntry("failedCalls", 0L);
+        // Timed from the second route's connectStart, not from the lookup before the failed attempt
+        @SuppressWarnings("unchecked")
+        Map<String, Object> setup = (Map<String, Object>) stats.get("connectionSetupMs");
+        assertThat(setup).containsEntry("count", 1L);
+        assertThat((Long) setup.get("p99")).isLessThanOrEqualTo(200L);
+    }
+
+    private void startServer(long delayMs) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            sleep(delayMs);
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            byte[] response = (exchange.getRequestMethod() + " "
+                    + exchange.getRequestHeaders().getFirst("Content-Type") + " " + body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Method", exchange.getRequestMethod());
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,111 @@
+package com.enterprise.slackassistant.controller;
+
+import com.enterprise.slackassistant.config.SlackProperties;
+import com.enterprise.slackassistant.service.IngestionLatencyTracker;
+import com.enterprise.slackassistant.standin.SlackStandIn;
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.bolt.App;
+import com.slack.api.bolt.AppConfig;
+import com.slack.api.model.event.MessageEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlackSocketModeControllerTest {
+
+    private final IngestionLatencyTracker tracker = new IngestionLatencyTracker();
+
+    @Test
+    void envelopesAreRecognisedByTheirTopLevelType() {
+        assertThat(SlackSocketModeController.isEnvelope(
+                "{\"envelope_id\":\"e1\",\"payload\":{\"event\":{\"text\":\"hi\"}},\"type\":\"events_api\"}")).isTrue();
+        assertThat(SlackSocketModeController.isEnvelope("{\"type\":\"slash_commands\",\"envelope_id\":\"e2\"}")).isTrue();
+        assertThat(SlackSocketModeController.isEnvelope("{\"type\":\"interactive\",\"envelope_id\":\"e3\"}")).isTrue();
+
+        assertThat(SlackSocketModeController.isEnvelope("{\"type\":\"hello\",\"num_connections\":1}")).isFalse();
+        // Mentions envelope_id and events_api, but only inside nested values
+        assertThat(SlackSocketModeController.isEnvelope(
+                "{\"type\":\"disconnect\",\"debug_info\":{\"note\":\"\\\"envelope_id\\\"\",\"type\":\"events_api\"}}")).isFalse();
+        assertThat(SlackSocketModeController.isEnvelope("not json")).isFalse();
+        assertThat(SlackSocketModeController.isEnvelope("[\"events_api\"]")).isFalse();
+    }
+
+    @Test
+    void startFailsWhenNoConnectionCanBeOpened() {
+        // Nothing listens on port 9, so apps.connections.open fails for every connection
+        SlackSocketModeController controller = new SlackSocketModeController(app("http://localhost:9/api/", null),
+                properties(2), tracker);
+
+        assertThatThrownBy(controller::start)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("none of 2 connections");
+        assertThat(controller.isRunning()).isFalse();
+    }
+
+    @Test
+    void envelopesAreAckedAndAttributedToSocketMode() throws Exception {
+        CountDownLatch acked = new CountDownLatch(1);
+        SlackStandIn standIn = new SlackStandIn(id -> acked.countDown(), text -> { });
+        standIn.start();
+        AtomicReference<String> handledPath = new AtomicReference<>();
+        SlackSocketModeController controller = new SlackSocketModeController(app(standIn.getApiUrl(), handledPath),
+                properties(1), tracker);
+        try {
+            controller.start();
+            assertThat(controller.isRunning()).isTrue();
+            awaitConnection(standIn);
+
+            standIn.pushEnvelope("{\"envelope_id\":\"e1\",\"type\":\"events_api\",\"accepts_response_payload\":false,"
+                    + "\"payload\":{\"type\":\"event_callback\",\"team_id\":\"" + SlackStandIn.TEAM_ID + "\","
+                    + "\"event\":{\"type\":\"message\",\"channel\":\"C1\",\"user\":\"U1\",\"text\":\"hi\",\"ts\":\"1.0\"}}}");
+
+            assertThat(acked.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(handledPath.get()).isEqualTo(IngestionLatencyTracker.PATH_SOCKET_MODE);
+        } finally {
+            controller.stop();
+            standIn.stop();
+        }
+    }
+
+    @Test
+    void untrackedRequestsAreNotCountedAsHttp() {
+        assertThat(tracker.currentPath()).isEqualTo(IngestionLatencyTracker.PATH_UNKNOWN);
+    }
+
+    private App app(String apiUrl, AtomicReference<String> handledPath) {
+        SlackConfig slackConfig = new SlackConfig();
+        slackConfig.setMethodsEndpointUrlPrefix(apiUrl);
+        App app = new App(AppConfig.builder()
+                .slack(Slack.getInstance(slackConfig))
+                .signingSecret("stand-in-signing-secret")
+                .singleTeamBotToken("xoxb-stand-in")
+                .build());
+        app.event(MessageEvent.class, (payload, ctx) -> {
+            handledPath.set(tracker.currentPath());
+            return ctx.ack();
+        });
+        return app;
+    }
+
+    private static SlackProperties properties(int connections) {
+        SlackProperties properties = new SlackProperties();
+        properties.setAppToken("xapp-stand-in");
+        properties.getSocketMode().setEnabled(true);
+        properties.getSocketMode().setConnections(connections);
+        return properties;
+    }
+
+    private static void awaitConnection(SlackStandIn standIn) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (standIn.getConnectionCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(standIn.getConnectionCount()).isPositive();
+    }
+}
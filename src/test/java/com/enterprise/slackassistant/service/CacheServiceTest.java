@@ -0,0 +1,35 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.simulation.VirtualSchedulingClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheServiceTest {
+
+    private static final Instant START = Instant.parse("2024-03-04T09:00:00Z");
+
+    private final VirtualSchedulingClock clock = new VirtualSchedulingClock(START);
+    private final CacheService cache = new CacheService(10, clock);
+
+    @Test
+    void responsesAreSharedAcrossSpellingsOfTheSameQuestion() {
+        cache.putResponse("artemis", "How do I reset my password?", "Use the reset link.");
+
+        assertThat(cache.getResponse("artemis", "  how do I   RESET my password? ")).isEqualTo("Use the reset link.");
+        assertThat(cache.getResponse("b360", "How do I reset my password?")).isNull();
+    }
+
+    @Test
+    void responsesExpireOnTheClock() {
+        cache.putResponse("artemis", "How do I reset my password?", "Use the reset link.");
+
+        clock.runUntil(START.plusSeconds(9 * 60 + 59));
+        assertThat(cache.getResponse("artemis", "How do I reset my password?")).isNotNull();
+
+        clock.runUntil(START.plusSeconds(10 * 60));
+        assertThat(cache.getResponse("artemis", "How do I reset my password?")).isNull();
+    }
+}
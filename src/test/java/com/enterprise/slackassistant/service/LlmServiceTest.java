@@ -0,0 +1,117 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.MeteringProperties;
+import com.enterprise.slackassistant.config.MeteringProperties.Budget;
+import com.enterprise.slackassistant.config.MeteringProperties.BudgetAction;
+import com.enterprise.slackassistant.config.ProductProperties;
+import com.enterprise.slackassistant.simulation.VirtualSchedulingClock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.ChatResponse;
+import org.springframework.ai.chat.Generation;
+import org.springframework.ai.chat.StreamingChatClient;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LlmServiceTest {
+
+    private static final LlmRequestContext CONTEXT = new LlmRequestContext("artemis", "artemishelp", "U1");
+
+    private final VirtualSchedulingClock clock = new VirtualSchedulingClock(Instant.parse("2024-03-04T09:00:00Z"));
+    private final MeteringProperties meteringProperties = new MeteringProperties();
+    private final LlmUsageMeter usageMeter = new LlmUsageMeter(meteringProperties, clock);
+    private final CacheService cacheService = new CacheService(10, clock);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void timeToFirstTokenIsMeasuredAtTheFirstChunkWithContent() {
+        // An empty role chunk, then content after ~200 ms; the stream completes ~600 ms after the start
+        LlmService service = service(prompt -> Flux.concat(
+                Flux.just(chunk("")).delayElements(Duration.ofMillis(50)),
+                Flux.just(chunk("Hello")).delayElements(Duration.ofMillis(150)),
+                Flux.just(chunk(" world")).delayElements(Duration.ofMillis(400))));
+
+        assertThat(service.chat("hi", List.of(), null, CONTEXT)).isEqualTo("Hello world");
+
+        Map<String, Object> stats = usageMeter.promptLayoutStatus().get("artemis");
+        assertThat((Long) stats.get("avgTtftMs")).isBetween(150L, 550L);
+        assertThat((Long) stats.get("avgLatencyMs")).isGreaterThanOrEqualTo(600L);
+        assertThat(stats).containsKey("estimatedCacheablePrefixRatio");
+    }
+
+    @Test
+    void reportedUsageIsMeteredAndEstimatedOtherwise() {
+        LlmService reported = service(prompt -> Flux.just(chunk("Hello"), withUsage(chunk(""), 1200, 30)));
+        reported.chat("hi", List.of(), null, CONTEXT);
+        assertThat(usageMeter.snapshot("artemis", null).get(0))
+                .containsEntry("promptTokens", 1200L).containsEntry("completionTokens", 30L);
+
+        LlmService estimated = service(prompt -> Flux.just(chunk("x".repeat(400))));
+        estimated.chat("hi", List.of(), null, new LlmRequestContext("artemis", "other", "U1"));
+        assertThat(usageMeter.snapshot("artemis", "other").get(0)).containsEntry("completionTokens", 100L);
+        assertThat((Long) usageMeter.snapshot("artemis", "other").get(0).get("promptTokens")).isPositive();
+    }
+
+    @Test
+    void cacheOnlyModeAnswersRepeatedFirstTurnsAndRefusesFollowUps() {
+        LlmService service = service(prompt -> Flux.just(chunk("Use the reset link.")));
+        assertThat(service.chat("How do I reset my password?", List.of(), null, CONTEXT)).isEqualTo("Use the reset link.");
+        service.chat("What about MFA?", List.of(Map.of("role", "user", "content", "hi")), null, CONTEXT);
+        assertThat(calls).hasValue(2);
+
+        Budget budget = new Budget();
+        budget.setTokensPerDay(1);
+        budget.setAction(BudgetAction.CACHE_ONLY);
+        meteringProperties.getBudgets().put("artemishelp", budget);
+
+        assertThat(service.chat("how do I reset my password?", List.of(), null, CONTEXT)).isEqualTo("Use the reset link.");
+        assertThat(service.chat("What about MFA?", List.of(Map.of("role", "user", "content", "hi")), null, CONTEXT))
+                .contains("usage budget");
+        assertThat(service.chat("How do I reset my password?", List.of(), "{\"user\":\"U1\"}", CONTEXT))
+                .contains("usage budget");
+        assertThat(calls).hasValue(2);
+    }
+
+    private LlmService service(StreamingChatClient client) {
+        StreamingChatClient counting = prompt -> {
+            calls.incrementAndGet();
+            return client.stream(prompt);
+        };
+        ProductProperties products = new ProductProperties();
+        PromptLayoutService layout = new PromptLayoutService(products, new RagService(products, new ObjectMapper()));
+        return new LlmService(counting, usageMeter, cacheService, meteringProperties, layout);
+    }
+
+    private static ChatResponse chunk(String content) {
+        return new ChatResponse(List.of(new Generation(content)));
+    }
+
+    private static ChatResponse withUsage(ChatResponse chunk, long promptTokens, long completionTokens) {
+        Usage usage = new Usage() {
+            @Override
+            public Long getPromptTokens() {
+                return promptTokens;
+            }
+
+            @Override
+            public Long getGenerationTokens() {
+                return completionTokens;
+            }
+        };
+        return new ChatResponse(chunk.getResults(), new ChatResponseMetadata() {
+            @Override
+            public Usage getUsage() {
+                return usage;
+            }
+        });
+    }
+}
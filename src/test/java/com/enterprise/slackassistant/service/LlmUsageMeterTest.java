@@ -0,0 +1,111 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.MeteringProperties;
+import com.enterprise.slackassistant.config.MeteringProperties.Budget;
+import com.enterprise.slackassistant.config.MeteringProperties.BudgetAction;
+import com.enterprise.slackassistant.service.LlmUsageMeter.Reservation;
+import com.enterprise.slackassistant.simulation.VirtualSchedulingClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LlmUsageMeterTest {
+
+    private static final Instant START = Instant.parse("2024-03-04T22:00:00Z");
+
+    private final VirtualSchedulingClock clock = new VirtualSchedulingClock(START);
+    private final MeteringProperties properties = new MeteringProperties();
+    private final LlmUsageMeter meter = new LlmUsageMeter(properties, clock);
+
+    @Test
+    void productBudgetDowngradesOnceExhausted() {
+        budget("artemis", 1000, BudgetAction.DOWNGRADE);
+
+        Reservation first = meter.reserve("artemis", "artemishelp", 600);
+        assertThat(first.getAction()).isNull();
+        meter.record("artemis", "artemishelp", "U1", 700, 200);
+        meter.release(first);
+
+        assertThat(meter.reserve("artemis", "artemishelp", 200).getAction()).isEqualTo(BudgetAction.DOWNGRADE);
+        assertThat(meter.budgetStatus().get("artemis")).containsEntry("productUsedTokens", 900L);
+    }
+
+    @Test
+    void channelBudgetReplacesTheProductBudget() {
+        budget("artemis", 1000, BudgetAction.DOWNGRADE);
+        budget("artemis-vip", 5000, BudgetAction.CACHE_ONLY);
+
+        meter.record("artemis", "artemishelp", "U1", 1000, 0);
+
+        assertThat(meter.reserve("artemis", "artemishelp", 10).getAction()).isEqualTo(BudgetAction.DOWNGRADE);
+        assertThat(meter.reserve("artemis", "artemis-vip", 10).getAction()).isNull();
+
+        meter.record("artemis", "artemis-vip", "U2", 5000, 0);
+        assertThat(meter.reserve("artemis", "artemis-vip", 10).getAction()).isEqualTo(BudgetAction.CACHE_ONLY);
+    }
+
+    @Test
+    void concurrentCallsCannotReserveMoreThanTheBudget() {
+        budget("artemis", 1000, BudgetAction.CACHE_ONLY);
+
+        Reservation first = meter.reserve("artemis", "artemishelp", 400);
+        Reservation second = meter.reserve("artemis", "artemishelp", 400);
+        Reservation third = meter.reserve("artemis", "artemishelp", 400);
+
+        assertThat(first.getAction()).isNull();
+        assertThat(second.getAction()).isNull();
+        assertThat(third.getAction()).isEqualTo(BudgetAction.CACHE_ONLY);
+        assertThat(third.getTokens()).isZero();
+        assertThat(meter.budgetStatus().get("artemis")).containsEntry("productUsedTokens", 800L);
+    }
+
+    @Test
+    void reservationsAreReconciledWithActualUsage() {
+        budget("artemis", 1000, BudgetAction.DOWNGRADE);
+
+        Reservation reservation = meter.reserve("artemis", "artemishelp", 900);
+        assertThat(meter.reserve("artemis", "artemishelp", 200).getAction()).isEqualTo(BudgetAction.DOWNGRADE);
+
+        // The call used far less than estimated, so the rest of the budget is available again
+        meter.record("artemis", "artemishelp", "U1", 150, 50);
+        meter.release(reservation);
+
+        assertThat(meter.budgetStatus().get("artemis")).containsEntry("productUsedTokens", 200L);
+        assertThat(meter.reserve("artemis", "artemishelp", 800).getAction()).isNull();
+    }
+
+    @Test
+    void budgetsRollOverAtMidnightOnTheClock() {
+        budget("artemis", 1000, BudgetAction.DOWNGRADE);
+        meter.record("artemis", "artemishelp", "U1", 1000, 0);
+        assertThat(meter.reserve("artemis", "artemishelp", 1).getAction()).isEqualTo(BudgetAction.DOWNGRADE);
+
+        clock.runUntil(Instant.parse("2024-03-05T00:01:00Z"));
+
+        assertThat(meter.reserve("artemis", "artemishelp", 1).getAction()).isNull();
+        assertThat(meter.budgetStatus().get("artemis")).containsEntry("productUsedTokens", 1L);
+        assertThat(meter.snapshot("artemis", null)).first()
+                .satisfies(row -> assertThat(row).containsEntry("bucketStart", "2024-03-04T22:00:00Z"));
+    }
+
+    @Test
+    void releasingAReservationFromAnEvictedDayLeavesTodayUntouched() {
+        budget("artemis", 1000, BudgetAction.DOWNGRADE);
+        Reservation yesterday = meter.reserve("artemis", "artemishelp", 500);
+
+        clock.runUntil(Instant.parse("2024-03-05T00:01:00Z"));
+        meter.record("artemis", "artemishelp", "U1", 300, 0);
+        meter.release(yesterday);
+
+        assertThat(meter.budgetStatus().get("artemis")).containsEntry("productUsedTokens", 300L);
+    }
+
+    private void budget(String name, long tokensPerDay, BudgetAction action) {
+        Budget budget = new Budget();
+        budget.setTokensPerDay(tokensPerDay);
+        budget.setAction(action);
+        properties.getBudgets().put(name, budget);
+    }
+}
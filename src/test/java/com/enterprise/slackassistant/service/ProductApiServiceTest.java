@@ -0,0 +1,122 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.ProductProperties;
+import com.enterprise.slackassistant.config.ProductProperties.ProductDefinition;
+import com.enterprise.slackassistant.simulation.VirtualSchedulingClock;
+import com.enterprise.slackassistant.standin.ProductApiStandIn;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductApiServiceTest {
+
+    private static final Instant START = Instant.parse("2024-03-04T09:00:00Z");
+
+    private final VirtualSchedulingClock clock = new VirtualSchedulingClock(START);
+    private ProductApiStandIn standIn;
+
+    @AfterEach
+    void stopStandIn() {
+        if (standIn != null) {
+            standIn.stop();
+        }
+    }
+
+    @Test
+    void fanOutLatencyTracksTheSlowestCallNotTheSum() throws IOException {
+        ProductApiService service = serviceWithStandIn(300, 5000);
+
+        long start = System.nanoTime();
+        Map<String, String> results = service.fetchApiData("artemis", "U1", List.of("user", "business", "viewticket"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(results).containsOnlyKeys("user", "business", "viewticket");
+        assertThat(results.values()).allMatch(body -> body.contains("\"status\":\"ok\""));
+        assertThat(standIn.getRequestCount()).isEqualTo(3);
+        // Sequential calls would take 900 ms
+        assertThat(elapsedMs).isBetween(300L, 600L);
+    }
+
+    @Test
+    void callsThatMissTheSharedDeadlineAreReportedUnavailable() throws IOException {
+        ProductApiService service = serviceWithStandIn(3000, 200);
+
+        long start = System.nanoTime();
+        Map<String, String> results = service.fetchApiData("artemis", "U1", List.of("user", "business"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(results).containsEntry("user", "unavailable (timed out)")
+                .containsEntry("business", "unavailable (timed out)");
+        assertThat(elapsedMs).isLessThan(1500);
+    }
+
+    @Test
+    void resultsAreCachedPerUserUntilTheTtlExpires() throws IOException {
+        ProductApiService service = serviceWithStandIn(0, 5000);
+
+        service.fetchApiData("artemis", "U1", List.of("user"));
+        service.fetchApiData("artemis", "U1", List.of("user"));
+        assertThat(standIn.getRequestCount()).isEqualTo(1);
+
+        service.fetchApiData("artemis", "U2", List.of("user"));
+        assertThat(standIn.getRequestCount()).isEqualTo(2);
+
+        clock.runUntil(START.plusSeconds(31));
+        service.fetchApiData("artemis", "U1", List.of("user"));
+        assertThat(standIn.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void mutatingApisAreNeverCalled() throws IOException {
+        ProductApiService service = serviceWithStandIn(0, 5000);
+
+        Map<String, String> results = service.fetchApiData("artemis", "U1", List.of("ticketcreate", "user"));
+
+        assertThat(results.get("ticketcreate")).startsWith("not called automatically");
+        assertThat(standIn.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void detectIntentMatchesNamesAndKeywordsAsWholeWords() throws IOException {
+        ProductApiService service = serviceWithStandIn(0, 5000);
+
+        assertThat(service.detectIntent("artemis", "My account got deactivated this morning").getIntentName())
+                .isEqualTo("User not active");
+        assertThat(service.detectIntent("artemis", "I can't view business Acme anymore").getApiNames())
+                .containsExactly("user", "business");
+        assertThat(service.detectIntent("artemis", "the app keeps CRASHING on launch").getIntentName())
+                .isEqualTo("App Crash");
+        assertThat(service.detectIntent("artemis", "what's the status of my ticket?").getIntentName())
+                .isEqualTo("ticketdetails");
+        // The longest phrase wins over the shorter keyword it contains
+        assertThat(service.detectIntent("artemis", "please update user status to inactive").getIntentName())
+                .isEqualTo("update user status");
+        assertThat(service.detectIntent("artemis", "crashcourse in reporting")).isNull();
+        assertThat(service.detectIntent("artemis", "hello there")).isNull();
+    }
+
+    private ProductApiService serviceWithStandIn(long mockDelayMs, long apiTimeoutMs) throws IOException {
+        ProductDefinition artemis = new ProductDefinition();
+        artemis.setChannels(List.of("artemishelp"));
+        artemis.setIntentMappingFile("intent-mappings/artemis.json");
+        artemis.setMutatingApis(List.of("ticketcreate", "updateuser"));
+        artemis.setMockDelayMs(mockDelayMs);
+        ProductProperties properties = new ProductProperties();
+        properties.getDefinitions().put("artemis", artemis);
+        properties.setApiTimeoutMs(apiTimeoutMs);
+        properties.setApiCacheTtlSeconds(30);
+
+        standIn = new ProductApiStandIn(0, properties, 0);
+        standIn.start();
+        artemis.setApiBaseUrl("http://localhost:" + standIn.getPort() + "/artemis");
+        return new ProductApiService(properties, new ObjectMapper(), clock);
+    }
+}
@@ -0,0 +1,88 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.ProductProperties;
+import com.enterprise.slackassistant.config.ProductProperties.ProductDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptLayoutServiceTest {
+
+    private static final List<Map<String, String>> HISTORY = List.of(
+            Map.of("role", "user", "content", "My account is inactive"),
+            Map.of("role", "assistant", "content", "An administrator can reactivate it. Does this resolve your issue?"));
+
+    @Test
+    void prefixIsByteIdenticalAcrossTurns() {
+        PromptLayoutService layout = layoutService(16000);
+
+        List<Message> firstTurn = layout.layout("artemis", List.of(), "My account is inactive", null);
+        List<Message> thirdTurn = layout.layout("artemis", HISTORY, "Still no access", "{\"status\":\"inactive\"}\n");
+
+        assertThat(firstTurn.get(0)).isInstanceOf(SystemMessage.class);
+        assertThat(prefixBytes(thirdTurn)).isEqualTo(prefixBytes(firstTurn));
+        assertThat(firstTurn.get(0).getContent()).contains("Artemis Account Activation Guide");
+        assertThat(layout.getPrefixFingerprint("artemis")).hasSize(16);
+    }
+
+    @Test
+    void turnsFollowThePrefixAsAlternatingMessages() {
+        PromptLayoutService layout = layoutService(16000);
+
+        List<Message> messages = layout.layout("artemis", HISTORY, "Still no access", "{\"status\":\"inactive\"}\n");
+
+        assertThat(messages).hasSize(4);
+        assertThat(messages.get(1)).isInstanceOf(UserMessage.class);
+        assertThat(messages.get(2)).isInstanceOf(AssistantMessage.class);
+        assertThat(messages.get(3)).isInstanceOf(UserMessage.class);
+        assertThat(messages.get(3).getContent()).startsWith("Still no access")
+                .contains("=== PRODUCT API DATA ===\n{\"status\":\"inactive\"}\n=== END API DATA ===");
+        assertThat(messages.get(0).getContent()).doesNotContain("Still no access", "PRODUCT API DATA");
+    }
+
+    @Test
+    void retrievalPrefixStaysIdenticalWhilePassagesMoveIntoTheTurn() {
+        PromptLayoutService layout = layoutService(10);
+
+        List<Message> accountQuestion = layout.layout("artemis", List.of(), "my account is inactive", null);
+        List<Message> otherQuestion = layout.layout("artemis", HISTORY, "hello", null);
+
+        assertThat(prefixBytes(otherQuestion)).isEqualTo(prefixBytes(accountQuestion));
+        assertThat(accountQuestion.get(0).getContent()).doesNotContain("Artemis Account Activation Guide");
+        assertThat(accountQuestion.get(1).getContent()).contains("=== RELEVANT DOCUMENTATION ===",
+                "Artemis Account Activation Guide");
+        assertThat(otherQuestion.get(3).getContent()).isEqualTo("hello");
+    }
+
+    @Test
+    void unknownProductsShareTheGuidelinesPrefix() {
+        PromptLayoutService layout = layoutService(16000);
+
+        assertThat(prefixBytes(layout.layout(null, List.of(), "hi", null)))
+                .isEqualTo(prefixBytes(layout.layout("unknown", HISTORY, "hi again", null)));
+        assertThat(layout.getPrefixTokenEstimate("artemis")).isGreaterThan(layout.getPrefixTokenEstimate(null));
+    }
+
+    private static byte[] prefixBytes(List<Message> messages) {
+        return messages.get(0).getContent().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static PromptLayoutService layoutService(long ragPrefixMaxTokens) {
+        ProductDefinition artemis = new ProductDefinition();
+        artemis.setChannels(List.of("artemishelp"));
+        artemis.setRagDocsFile("rag-docs/artemis.json");
+        ProductProperties properties = new ProductProperties();
+        properties.getDefinitions().put("artemis", artemis);
+        properties.setRagPrefixMaxTokens(ragPrefixMaxTokens);
+        return new PromptLayoutService(properties, new RagService(properties, new ObjectMapper()));
+    }
+}
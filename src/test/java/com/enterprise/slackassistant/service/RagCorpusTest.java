@@ -0,0 +1,143 @@
+package com.enterprise.slackassistant.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RagCorpusTest {
+
+    /** Magic, version, document count and column count, then the segment table; column 0 starts right after. */
+    private static final int FIRST_SEGMENT = 16 + 4 * 16;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writtenCorpusReadsBackEveryColumn() throws IOException {
+        String longContent = "Résumé ünïcode 日本語 ".repeat(200);
+        List<RagDocument> documents = List.of(
+                document("a1", "Reset password", "Use the self-service portal.", "password", "reset password"),
+                document("b2", "Ünïcode", longContent),
+                document("c3", null, null));
+        Path file = dir.resolve("corpus.ragc");
+        RagCorpus.write(documents, file);
+
+        RagCorpus corpus = RagCorpus.open(file);
+
+        assertThat(corpus.size()).isEqualTo(3);
+        assertThat(corpus.getId(0)).isEqualTo("a1");
+        assertThat(corpus.getTitle(0)).isEqualTo("Reset password");
+        assertThat(corpus.getKeywords(0)).containsExactly("password", "reset password");
+        assertThat(corpus.getContent(1)).isEqualTo(longContent);
+        assertThat(corpus.getKeywords(1)).isEmpty();
+        // Missing fields are stored as empty values
+        assertThat(corpus.getTitle(2)).isEmpty();
+        assertThat(corpus.getContent(2)).isEmpty();
+
+        ByteBuffer bytes = corpus.getContentBytes(1);
+        byte[] raw = new byte[bytes.remaining()];
+        bytes.get(raw);
+        assertThat(raw).isEqualTo(longContent.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void appendContentMatchesGetContentAcrossDecodeChunks() throws IOException {
+        // ASCII prefix, then multi-byte text spanning several 1 KB decode chunks
+        String content = "plain ascii first, ".repeat(10) + "ünïcode 日本語 ".repeat(300);
+        Path file = dir.resolve("corpus.ragc");
+        RagCorpus.write(List.of(document("a1", "t", content), document("b2", "t", "ascii only")), file);
+        RagCorpus corpus = RagCorpus.open(file);
+
+        StringBuilder sb = new StringBuilder("> ");
+        corpus.appendContent(0, sb);
+        corpus.appendContent(1, sb);
+
+        assertThat(sb.toString()).isEqualTo("> " + content + "ascii only");
+    }
+
+    @Test
+    void fromDocumentsMatchesTheMappedLayout() {
+        RagCorpus corpus = RagCorpus.fromDocuments(List.of(document("a1", "Title", "Body", "kw")));
+
+        assertThat(corpus.size()).isEqualTo(1);
+        assertThat(corpus.getId(0)).isEqualTo("a1");
+        assertThat(corpus.getContent(0)).isEqualTo("Body");
+        assertThat(corpus.getKeywords(0)).containsExactly("kw");
+        assertThat(RagCorpus.fromDocuments(List.of()).size()).isZero();
+    }
+
+    @Test
+    void corruptHeaderOrSegmentTableIsRejected() throws IOException {
+        assertRejected(buffer -> buffer.putInt(0, 0), "Not a RAG corpus");
+        assertRejected(buffer -> buffer.putInt(4, 99), "Unsupported RAG corpus version");
+        // Segment past EOF, and a length beyond one mapping
+        assertRejected(buffer -> buffer.putLong(16 + 3 * 16 + 8, 1 << 20), "Corrupt segment table");
+        assertRejected(buffer -> buffer.putLong(16 + 3 * 16 + 8, Long.MAX_VALUE), "Corrupt segment table");
+        // Column 1 overlapping column 0
+        assertRejected(buffer -> buffer.putLong(16 + 16, FIRST_SEGMENT), "Corrupt segment table");
+    }
+
+    @Test
+    void corruptOffsetIndexIsRejected() throws IOException {
+        assertRejected(buffer -> buffer.putInt(8, Integer.MAX_VALUE - 1), "too short");
+        assertRejected(buffer -> buffer.putInt(FIRST_SEGMENT, 1), "do not start at 0");
+        // Ids are "a1", "b2", "c3": offsets 0, 2, 4, 6; the third drops below the second
+        assertRejected(buffer -> buffer.putInt(FIRST_SEGMENT + 8, 1), "out of order or bounds");
+        assertRejected(buffer -> buffer.putInt(FIRST_SEGMENT + 12, 1000), "out of order or bounds");
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        Path file = writeSample();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatThrownBy(() -> RagCorpus.open(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Corrupt segment table");
+
+        Files.write(file, Arrays.copyOf(bytes, 10));
+        assertThatThrownBy(() -> RagCorpus.open(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Not a RAG corpus");
+    }
+
+    private void assertRejected(Consumer<ByteBuffer> corruption, String message) throws IOException {
+        Path file = writeSample();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        corruption.accept(buffer);
+        Files.write(file, buffer.array());
+
+        assertThatThrownBy(() -> RagCorpus.open(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(message);
+    }
+
+    private Path writeSample() throws IOException {
+        Path file = dir.resolve("sample.ragc");
+        RagCorpus.write(List.of(
+                document("a1", "First", "one", "alpha"),
+                document("b2", "Second", "two", "beta"),
+                document("c3", "Third", "three", "gamma")), file);
+        return file;
+    }
+
+    static RagDocument document(String id, String title, String content, String... keywords) {
+        RagDocument document = new RagDocument();
+        document.setId(id);
+        document.setTitle(title);
+        document.setContent(content);
+        document.setKeywords(List.of(keywords));
+        return document;
+    }
+}
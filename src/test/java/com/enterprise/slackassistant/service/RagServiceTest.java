@@ -0,0 +1,84 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.ProductProperties;
+import com.enterprise.slackassistant.config.ProductProperties.ProductDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.enterprise.slackassistant.service.RagCorpusTest.document;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RagServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void specificPhrasesOutrankSingleWordsAndTiesKeepFileOrder() throws IOException {
+        RagService service = serviceWithCorpus(List.of(
+                document("d0", "Password policy", "", "password"),
+                document("d1", "Reset password", "", "reset password", "reset"),
+                document("d2", "Login", "", "login"),
+                document("d3", "Password expiry", "", "password", "expired")));
+
+        assertThat(service.retrieve("artemis", "How do I RESET my password? It expired.", 10))
+                .containsExactly(3, 0, 1);
+        // The phrase "reset password" scores 2 on top of the single word "reset"
+        assertThat(service.retrieve("artemis", "reset password please", 10)).containsExactly(1, 0, 3);
+        assertThat(service.retrieve("artemis", "reset password please", 2)).containsExactly(1, 0);
+    }
+
+    @Test
+    void keywordsMatchWholeWordsOnly() throws IOException {
+        RagService service = serviceWithCorpus(List.of(
+                document("d0", "Login", "", "log in"),
+                document("d1", "Logs", "", "logs")));
+
+        assertThat(service.retrieve("artemis", "I cannot log-in", 5)).containsExactly(0);
+        assertThat(service.retrieve("artemis", "catalog information", 5)).isEmpty();
+        assertThat(service.retrieve("artemis", "where are the logs", 5)).containsExactly(1);
+    }
+
+    @Test
+    void unknownProductsAndEmptyQueriesReturnNothing() throws IOException {
+        RagService service = serviceWithCorpus(List.of(document("d0", "Login", "", "login")));
+
+        assertThat(service.retrieve("unknown", "login", 5)).isEmpty();
+        assertThat(service.retrieve("artemis", null, 5)).isEmpty();
+        assertThat(service.retrieve("artemis", "login", 0)).isEmpty();
+        assertThat(service.getCorpus("unknown").size()).isZero();
+    }
+
+    @Test
+    void corruptCorpusFileFallsBackToTheJsonDocs() throws IOException {
+        Path file = dir.resolve("broken.ragc");
+        Files.write(file, new byte[] {1, 2, 3});
+        ProductDefinition artemis = new ProductDefinition();
+        artemis.setRagCorpusFile(file.toString());
+        artemis.setRagDocsFile("rag-docs/artemis.json");
+
+        RagService service = new RagService(properties(artemis), new ObjectMapper());
+
+        assertThat(service.getCorpus("artemis").size()).isPositive();
+    }
+
+    private RagService serviceWithCorpus(List<RagDocument> documents) throws IOException {
+        Path file = dir.resolve("artemis.ragc");
+        RagCorpus.write(documents, file);
+        ProductDefinition artemis = new ProductDefinition();
+        artemis.setRagCorpusFile(file.toString());
+        return new RagService(properties(artemis), new ObjectMapper());
+    }
+
+    private static ProductProperties properties(ProductDefinition artemis) {
+        ProductProperties properties = new ProductProperties();
+        properties.getDefinitions().put("artemis", artemis);
+        return properties;
+    }
+}
@@ -0,0 +1,109 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.service.ReminderDispatcher.EventType;
+import com.enterprise.slackassistant.simulation.VirtualSchedulingClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReminderDispatcherTest {
+
+    private static final Instant START = Instant.parse("2024-03-04T09:00:00Z");
+
+    private final VirtualSchedulingClock clock = new VirtualSchedulingClock(START);
+    private final List<String> delivered = new ArrayList<>();
+    private final List<Long> deliveredAtMs = new ArrayList<>();
+
+    private final ReminderCloseCallback record = (threadKey, channelId, threadTs) -> {
+        delivered.add(threadKey);
+        deliveredAtMs.add(clock.now().toEpochMilli() - START.toEpochMilli());
+    };
+
+    @Test
+    void duplicateEventsAreIgnoredWhilePending() {
+        ReminderDispatcher dispatcher = new ReminderDispatcher(clock, 50, 200, 0, 0);
+
+        assertThat(dispatcher.submit(EventType.REMINDER, "t1", "C1", "1.0", () -> true, record)).isTrue();
+        assertThat(dispatcher.submit(EventType.REMINDER, "t1", "C1", "1.0", () -> true, record)).isFalse();
+        // Dedupe is per event type and thread
+        assertThat(dispatcher.submit(EventType.CLOSURE, "t2", "C1", "2.0", () -> true, record)).isTrue();
+        assertThat(dispatcher.getPendingCount()).isEqualTo(2);
+
+        clock.runUntil(START.plusSeconds(1));
+        assertThat(delivered).containsExactly("t1", "t2");
+        assertThat(dispatcher.getPendingCount()).isZero();
+
+        // Once delivered, the same event can be queued again
+        assertThat(dispatcher.submit(EventType.REMINDER, "t1", "C1", "1.0", () -> true, record)).isTrue();
+    }
+
+    @Test
+    void eventsThatAreNoLongerDueAreDroppedAtDelivery() {
+        ReminderDispatcher dispatcher = new ReminderDispatcher(clock, 50, 200, 0, 0);
+        boolean[] due = {true};
+
+        dispatcher.submit(EventType.REMINDER, "t1", "C1", "1.0", () -> due[0], record);
+        due[0] = false;
+        clock.runUntil(START.plusSeconds(1));
+
+        assertThat(delivered).isEmpty();
+        assertThat(dispatcher.getDroppedStaleCount()).isEqualTo(1);
+        assertThat(dispatcher.getPendingCount()).isZero();
+    }
+
+    @Test
+    void reminderIsSkippedWhileAClosureIsPendingForTheSameThread() {
+        ReminderDispatcher dispatcher = new ReminderDispatcher(clock, 50, 200, 0, 1000);
+
+        // Same channel: the closure is paced one interval behind the reminder, so it is still pending
+        ReminderCloseCallback remind = (threadKey, channelId, threadTs) -> delivered.add("reminder:" + threadKey);
+        ReminderCloseCallback close = (threadKey, channelId, threadTs) -> delivered.add("closure:" + threadKey);
+        dispatcher.submit(EventType.CLOSURE, "t0", "C1", "0.0", () -> true, close);
+        dispatcher.submit(EventType.REMINDER, "t1", "C1", "1.0", () -> true, remind);
+        dispatcher.submit(EventType.CLOSURE, "t1", "C1", "1.0", () -> true, close);
+        clock.runUntil(START.plusSeconds(10));
+
+        assertThat(delivered).containsExactly("closure:t0", "closure:t1");
+    }
+
+    @Test
+    void batchesAreDrainedAtTheConfiguredRate() {
+        ReminderDispatcher dispatcher = new ReminderDispatcher(clock, 2, 200, 0, 0);
+
+        for (int i = 0; i < 5; i++) {
+            dispatcher.submit(EventType.REMINDER, "t" + i, "C" + i, i + ".0", () -> true, record);
+        }
+        clock.runUntil(START.plusSeconds(1));
+
+        assertThat(delivered).containsExactly("t0", "t1", "t2", "t3", "t4");
+        assertThat(deliveredAtMs).containsExactly(200L, 200L, 400L, 400L, 600L);
+    }
+
+    @Test
+    void postsToOneChannelArePacedAndJitterStaysWithinBounds() {
+        ReminderDispatcher dispatcher = new ReminderDispatcher(clock, 50, 200, 500, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.submit(EventType.REMINDER, "t" + i, "C1", i + ".0", () -> true, record);
+        }
+        dispatcher.submit(EventType.REMINDER, "other", "C2", "9.0", () -> true, record);
+        clock.runUntil(START.plusSeconds(10));
+
+        List<Long> channelOne = new ArrayList<>();
+        for (int i = 0; i < delivered.size(); i++) {
+            if (delivered.get(i).startsWith("t")) {
+                channelOne.add(deliveredAtMs.get(i));
+            }
+        }
+        assertThat(channelOne).hasSize(3);
+        for (int i = 1; i < channelOne.size(); i++) {
+            assertThat(channelOne.get(i) - channelOne.get(i - 1)).isGreaterThanOrEqualTo(1000);
+        }
+        assertThat(channelOne.get(0)).isBetween(200L, 700L);
+        assertThat(deliveredAtMs.get(delivered.indexOf("other"))).isBetween(200L, 700L);
+    }
+}
@@ -0,0 +1,92 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.SlackProperties;
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.methods.MethodsClient;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlackServiceTest {
+
+    /** "Bearer token -> channel" of every chat.postMessage received. */
+    private final List<String> posts = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private Slack slack;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String channel = "";
+            for (String pair : body.split("&")) {
+                if (pair.startsWith("channel=")) {
+                    channel = URLDecoder.decode(pair.substring("channel=".length()), StandardCharsets.UTF_8);
+                }
+            }
+            if (exchange.getRequestURI().getPath().endsWith("/chat.postMessage")) {
+                posts.add(exchange.getRequestHeaders().getFirst("Authorization") + " -> " + channel);
+            }
+            byte[] response = "{\"ok\":true,\"ts\":\"1.0\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+        SlackConfig config = new SlackConfig();
+        config.setMethodsEndpointUrlPrefix("http://localhost:" + server.getAddress().getPort() + "/api/");
+        slack = Slack.getInstance(config);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void sharedChannelRepliesGoThroughTheWorkspaceTheEventCameFrom() {
+        SlackService service = service(null, Map.of("T1", "xoxb-one", "T2", "xoxb-two"));
+
+        assertThat(service.postMessage(WorkspaceRegistry.channelKey("T1", "C1"), "hi", "1.0")).isTrue();
+        assertThat(service.postMessage(WorkspaceRegistry.channelKey("T2", "C1"), "hi", "1.0")).isTrue();
+        assertThat(service.postMessage(WorkspaceRegistry.channelKey("T9", "C1"), "hi", "1.0")).isFalse();
+        assertThat(service.postMessage("C1", "hi", "1.0")).isFalse();
+
+        assertThat(posts).containsExactly("Bearer xoxb-one -> C1", "Bearer xoxb-two -> C1");
+    }
+
+    @Test
+    void singleWorkspaceUsesTheSingleTeamClient() {
+        SlackService service = service(slack.methods("xoxb-single"), Map.of());
+
+        assertThat(service.postMessage(WorkspaceRegistry.channelKey("T1", "C1"), "hi")).isTrue();
+
+        assertThat(posts).containsExactly("Bearer xoxb-single -> C1");
+    }
+
+    private SlackService service(MethodsClient singleTeamClient, Map<String, String> installations) {
+        SlackProperties properties = new SlackProperties();
+        properties.getWorkspaces().getInstallations().putAll(installations);
+        WorkspaceRegistry registry = new WorkspaceRegistry(slack, new WorkspaceInstallationService(properties), properties);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (singleTeamClient != null) {
+            beans.addBean("methodsClient", singleTeamClient);
+        }
+        return new SlackService(beans.getBeanProvider(MethodsClient.class), registry);
+    }
+}
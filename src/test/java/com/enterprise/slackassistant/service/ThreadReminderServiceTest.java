@@ -0,0 +1,87 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.simulation.VirtualSchedulingClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadReminderServiceTest {
+
+    private static final Instant START = Instant.parse("2024-03-04T09:00:00Z");
+
+    private final VirtualSchedulingClock clock = new VirtualSchedulingClock(START);
+    // Channel pacing of 20 s keeps a queued reminder pending across several 3 s scheduler ticks
+    private final ReminderDispatcher dispatcher = new ReminderDispatcher(clock, 50, 200, 0, 20_000);
+    private final ThreadReminderService service = new ThreadReminderService(dispatcher, clock, 1, 5, 3000);
+    private final List<String> reminders = new ArrayList<>();
+
+    @Test
+    void reminderIsPostedOnceAndCountedOnDelivery() {
+        service.setReminderCallback((threadKey, channelId, threadTs) -> reminders.add(threadKey));
+        startThreadAnsweredByBot("t1");
+        occupyChannelJustBeforeTheReminder();
+
+        clock.runUntil(START.plusSeconds(61));
+        assertThat(service.getThreadInfo("t1").getReminderCount()).isZero();
+        assertThat(dispatcher.getPendingCount()).isEqualTo(1);
+
+        clock.runUntil(START.plusSeconds(90));
+        assertThat(reminders).containsExactly("t1");
+        assertThat(service.getThreadInfo("t1").getReminderCount()).isEqualTo(1);
+
+        clock.runUntil(START.plusSeconds(240));
+        assertThat(reminders).containsExactly("t1");
+    }
+
+    @Test
+    void failedPostIsRetriedOnALaterTick() {
+        int[] attempts = {0};
+        service.setReminderCallback((threadKey, channelId, threadTs) -> {
+            if (attempts[0]++ == 0) {
+                throw new IllegalStateException("chat.postMessage failed");
+            }
+            reminders.add(threadKey);
+        });
+        startThreadAnsweredByBot("t1");
+
+        clock.runUntil(START.plusSeconds(62));
+        assertThat(attempts[0]).isEqualTo(1);
+        assertThat(service.getThreadInfo("t1").getReminderCount()).isZero();
+
+        clock.runUntil(START.plusSeconds(120));
+        assertThat(reminders).containsExactly("t1");
+        assertThat(service.getThreadInfo("t1").getReminderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reminderQueuedBeforeTheUserRepliedIsDroppedAndNotCounted() {
+        service.setReminderCallback((threadKey, channelId, threadTs) -> reminders.add(threadKey));
+        startThreadAnsweredByBot("t1");
+        occupyChannelJustBeforeTheReminder();
+
+        clock.runUntil(START.plusSeconds(61));
+        assertThat(dispatcher.getPendingCount()).isEqualTo(1);
+        service.recordUserMessage("t1", "C1", "1.0");
+
+        clock.runUntil(START.plusSeconds(90));
+        assertThat(reminders).isEmpty();
+        assertThat(dispatcher.getDroppedStaleCount()).isEqualTo(1);
+        assertThat(service.getThreadInfo("t1").getReminderCount()).isZero();
+    }
+
+    private void startThreadAnsweredByBot(String threadKey) {
+        service.recordUserMessage(threadKey, "C1", "1.0");
+        clock.runUntil(clock.now().plusSeconds(1));
+        service.recordBotResponse(threadKey);
+    }
+
+    /** Another post takes the channel's pacing slot, so the reminder due at 60 s waits until 79.2 s. */
+    private void occupyChannelJustBeforeTheReminder() {
+        clock.runUntil(START.plusSeconds(59));
+        dispatcher.submit(ReminderDispatcher.EventType.CLOSURE, "other", "C1", "0.0", () -> true, (k, c, t) -> { });
+    }
+}
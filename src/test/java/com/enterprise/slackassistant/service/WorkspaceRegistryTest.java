@@ -0,0 +1,124 @@
+package com.enterprise.slackassistant.service;
+
+import com.enterprise.slackassistant.config.SlackProperties;
+import com.slack.api.Slack;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkspaceRegistryTest {
+
+    @Test
+    void saturatedTeamDoesNotBlockAnother() throws InterruptedException {
+        WorkspaceRegistry registry = registry(2, 16, "T1", "T2");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busyStarted = new CountDownLatch(2);
+        AtomicInteger queuedRan = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> registry.runForTeam("T1", () -> {
+                    busyStarted.countDown();
+                    await(release);
+                }));
+            }
+            assertThat(busyStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            executor.submit(() -> registry.runForTeam("T1", queuedRan::incrementAndGet));
+
+            // T1 is at its limit with a task queued; T2 runs straight away on this thread
+            AtomicInteger otherTeamRan = new AtomicInteger();
+            registry.runForTeam("T2", otherTeamRan::incrementAndGet);
+            assertThat(otherTeamRan).hasValue(1);
+            assertThat(queuedRan).hasValue(0);
+            assertThat(registry.snapshot().get("T1")).containsEntry("inFlight", 2);
+
+            release.countDown();
+        }
+        assertThat(queuedRan).hasValue(1);
+        assertThat(registry.snapshot().get("T1")).containsEntry("completed", 3L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void singleWorkspaceRunsWithoutTheLimit() throws InterruptedException {
+        WorkspaceRegistry registry = registry(1, 16);
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> registry.runForTeam("T1", () -> {
+                    bothRunning.countDown();
+                    await(bothRunning);
+                }));
+            }
+            assertThat(bothRunning.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(registry.snapshot()).isEmpty();
+    }
+
+    @Test
+    void idleWorkspacesAreEvictedLeastRecentlyUsedFirst() {
+        WorkspaceRegistry registry = registry(2, 2, "T1", "T2", "T3");
+
+        registry.runForTeam("T1", () -> { });
+        registry.runForTeam("T2", () -> { });
+        registry.getClient("T1");
+        registry.runForTeam("T3", () -> { });
+
+        assertThat(registry.getCachedClientCount()).isEqualTo(2);
+        assertThat(registry.snapshot()).containsOnlyKeys("T1", "T3");
+        assertThat(registry.getClient("unknown")).isNull();
+        assertThat(registry.getCachedClientCount()).isEqualTo(2);
+    }
+
+    @Test
+    void busyWorkspacesAreKeptUntilIdle() {
+        WorkspaceRegistry registry = registry(2, 1, "T1", "T2", "T3");
+
+        // T1 has a task in flight when T2 arrives, so the cache grows past its size instead of evicting it
+        registry.runForTeam("T1", () -> {
+            registry.runForTeam("T2", () -> { });
+            assertThat(registry.snapshot()).containsOnlyKeys("T1", "T2");
+        });
+
+        // Once both are idle, the next new team shrinks the cache back to its size
+        registry.runForTeam("T3", () -> { });
+        assertThat(registry.snapshot()).containsOnlyKeys("T3");
+    }
+
+    @Test
+    void channelKeysScopeSharedChannelsToTheirWorkspace() {
+        String first = WorkspaceRegistry.channelKey("T1", "C1");
+        String second = WorkspaceRegistry.channelKey("T2", "C1");
+
+        assertThat(first).isEqualTo("T1:C1").isNotEqualTo(second);
+        assertThat(WorkspaceRegistry.teamIdOf(second)).isEqualTo("T2");
+        assertThat(WorkspaceRegistry.channelIdOf(second)).isEqualTo("C1");
+        assertThat(WorkspaceRegistry.channelKey(null, "C1")).isEqualTo("C1");
+        assertThat(WorkspaceRegistry.teamIdOf("C1")).isNull();
+        assertThat(WorkspaceRegistry.channelIdOf("C1")).isEqualTo("C1");
+    }
+
+    private static WorkspaceRegistry registry(int maxConcurrentPerTeam, int cacheSize, String... teams) {
+        SlackProperties properties = new SlackProperties();
+        properties.getWorkspaces().setMaxConcurrentPerTeam(maxConcurrentPerTeam);
+        properties.getWorkspaces().setClientCacheSize(cacheSize);
+        for (String team : teams) {
+            properties.getWorkspaces().getInstallations().put(team, "xoxb-" + team);
+        }
+        return new WorkspaceRegistry(Slack.getInstance(), new WorkspaceInstallationService(properties), properties);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.enterprise.slackassistant.simulation;
+
+import ch.qos.logback.classic.Level;
+import com.enterprise.slackassistant.config.SlackProperties;
+import com.enterprise.slackassistant.controller.LatencyTrackingSlackAppServlet;
+import com.enterprise.slackassistant.controller.SlackSocketModeController;
+import com.enterprise.slackassistant.service.IngestionLatencyTracker;
+import com.enterprise.slackassistant.standin.SlackStandIn;
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
+import com.slack.api.bolt.App;
+import com.slack.api.bolt.AppConfig;
+import com.slack.api.model.event.MessageEvent;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the same message events over both ingestion paths - signed POSTs to the Bolt servlet on an
+ * embedded Tomcat, and envelopes pushed over Socket Mode by {@link SlackStandIn} - and compares:
+ * <ul>
+ *   <li>Ack latency: event sent to HTTP 200 received / Socket Mode ack frame received.</li>
+ *   <li>Processing latency: event sent to the reply's chat.postMessage arriving at the stand-in. The
+ *       handler acks immediately and replies after {@code --processing-ms}, standing in for the LLM call.</li>
+ * </ul>
+ * Events are sent open-loop at {@code --rate} per second; the first {@code --warmup} events of each path
+ * are not counted. The servlet and Socket Mode controller are the production classes, so the server-side
+ * {@code [INGESTION]} summaries are logged alongside. Client, servers and stand-in share one JVM, so raise
+ * {@code --rate} only as far as the machine's cores allow.
+ * <p>
+ * Usage: {@code IngestionBenchmark [--events=500] [--rate=20] [--warmup=100] [--processing-ms=50]
+ * [--connections=2]}
+ */
+public class IngestionBenchmark {
+
+    private static final String SIGNING_SECRET = "stand-in-signing-secret";
+    private static final String CHANNEL = "C0STANDIN";
+    // Embedded Tomcat logs through java.util.logging; keep a strong reference so the level sticks
+    private static final java.util.logging.Logger TOMCAT_LOG = java.util.logging.Logger.getLogger("org.apache");
+
+    private static final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+    private static final Map<String, Long> ackedAt = new ConcurrentHashMap<>();
+    private static final Map<String, Long> postedAt = new ConcurrentHashMap<>();
+
+    public static void main(String[] args) throws Exception {
+        int events = 500;
+        int rate = 20;
+        int warmup = 100;
+        long processingMs = 50;
+        int connections = 2;
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            switch (kv[0]) {
+                case "events" -> events = Integer.parseInt(kv[1]);
+                case "rate" -> rate = Integer.parseInt(kv[1]);
+                case "warmup" -> warmup = Integer.parseInt(kv[1]);
+                case "processing-ms" -> processingMs = Long.parseLong(kv[1]);
+                case "connections" -> connections = Integer.parseInt(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(IngestionLatencyTracker.class)).setLevel(Level.INFO);
+        TOMCAT_LOG.setLevel(java.util.logging.Level.SEVERE);
+
+        SlackStandIn standIn = new SlackStandIn(id -> ackedAt.putIfAbsent(id, System.nanoTime()),
+                text -> postedAt.putIfAbsent(text, System.nanoTime()));
+        standIn.start();
+
+        IngestionLatencyTracker tracker = new IngestionLatencyTracker();
+        App app = buildApp(standIn, tracker, processingMs);
+
+        Tomcat tomcat = startServlet(app, tracker);
+        String eventsUrl = "http://localhost:" + tomcat.getConnector().getLocalPort() + "/slack/events";
+
+        SlackProperties properties = new SlackProperties();
+        properties.setAppToken("xapp-stand-in");
+        properties.getSocketMode().setEnabled(true);
+        properties.getSocketMode().setConnections(connections);
+        SlackSocketModeController socketMode = new SlackSocketModeController(app, properties, tracker);
+        socketMode.start();
+        awaitConnections(standIn, connections);
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        System.out.println("═══ Ingestion benchmark ═══");
+        System.out.printf("%d events per path at %d/s (first %d not counted), processing %d ms, %d Socket Mode connections%n",
+                events, rate, warmup, processingMs, connections);
+
+        Result httpResult = replay("http", events, rate, warmup, processingMs,
+                (id, payload) -> postSigned(http, eventsUrl, id, payload));
+        Result socketResult = replay("socket", events, rate, warmup, processingMs,
+                (id, payload) -> standIn.pushEnvelope(
+                        "{\"envelope_id\":\"" + id + "\",\"type\":\"events_api\",\"accepts_response_payload\":false,"
+                                + "\"retry_attempt\":0,\"retry_reason\":\"\",\"payload\":" + payload + "}"));
+
+        System.out.printf("  %-12s %s%n", "HTTP", httpResult);
+        System.out.printf("  %-12s %s%n", "Socket Mode", socketResult);
+
+        socketMode.stop();
+        tomcat.stop();
+        tomcat.destroy();
+        standIn.stop();
+        System.exit(0);
+    }
+
+    private static App buildApp(SlackStandIn standIn, IngestionLatencyTracker tracker, long processingMs) {
+        SlackConfig slackConfig = new SlackConfig();
+        slackConfig.setMethodsEndpointUrlPrefix(standIn.getApiUrl());
+        App app = new App(AppConfig.builder()
+                .slack(Slack.getInstance(slackConfig))
+                .signingSecret(SIGNING_SECRET)
+                .singleTeamBotToken("xoxb-stand-in")
+                .build());
+
+        // Same shape as the production handler: ack at once, reply from a virtual thread
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        app.event(MessageEvent.class, (payload, ctx) -> {
+            MessageEvent event = payload.getEvent();
+            long receivedAt = tracker.receivedAtNanos();
+            String path = tracker.currentPath();
+            executor.submit(() -> {
+                try {
+                    Thread.sleep(processingMs);
+                    ctx.client().chatPostMessage(r -> r.channel(event.getChannel()).threadTs(event.getTs())
+                            .text(event.getText()));
+                    tracker.recordProcessing(path, receivedAt);
+                } catch (Exception e) {
+                    System.err.println("Reply failed: " + e.getMessage());
+                }
+            });
+            return ctx.ack();
+        });
+        return app;
+    }
+
+    private static Tomcat startServlet(App app, IngestionLatencyTracker tracker) throws Exception {
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("ingestion-benchmark").toString());
+        tomcat.setPort(0);
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "slackAppServlet", new LatencyTrackingSlackAppServlet(app, tracker));
+        context.addServletMappingDecoded("/slack/events", "slackAppServlet");
+        tomcat.getConnector();
+        tomcat.start();
+        return tomcat;
+    }
+
+    private static void awaitConnections(SlackStandIn standIn, int connections) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (standIn.getConnectionCount() < connections) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Only " + standIn.getConnectionCount() + " of " + connections
+                        + " Socket Mode connections opened");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static Result replay(String path, int events, int rate, int warmup, long processingMs, Sender sender)
+            throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            long due = start + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String id = path + "-" + i;
+            String payload = eventPayload(id, i);
+            sentAt.put(id, System.nanoTime());
+            sender.send(id, payload);
+        }
+
+        // Let the last replies land before reading the numbers
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(processingMs) + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline && countDone(path, events) < events) {
+            Thread.sleep(20);
+        }
+
+        long[] ack = new long[events - warmup];
+        long[] processing = new long[events - warmup];
+        int acked = 0;
+        int processed = 0;
+        for (int i = warmup; i < events; i++) {
+            String id = path + "-" + i;
+            Long sent = sentAt.get(id);
+            Long ackTime = ackedAt.get(id);
+            Long postTime = postedAt.get(id);
+            if (ackTime != null) {
+                ack[acked++] = ackTime - sent;
+            }
+            if (postTime != null) {
+                processing[processed++] = postTime - sent;
+            }
+        }
+        return new Result(events - warmup, Arrays.copyOf(ack, acked), Arrays.copyOf(processing, processed));
+    }
+
+    private static int countDone(String path, int events) {
+        int done = 0;
+        for (int i = 0; i < events; i++) {
+            String id = path + "-" + i;
+            if (ackedAt.containsKey(id) && postedAt.containsKey(id)) {
+                done++;
+            }
+        }
+        return done;
+    }
+
+    private static String eventPayload(String id, int i) {
+        String ts = String.format("1700000000.%06d", i);
+        return "{\"token\":\"stand-in\",\"team_id\":\"" + SlackStandIn.TEAM_ID + "\",\"api_app_id\":\"A0STANDIN\","
+                + "\"type\":\"event_callback\",\"event_id\":\"Ev" + id + "\",\"event_time\":1700000000,"
+                + "\"event\":{\"type\":\"message\",\"channel\":\"" + CHANNEL + "\",\"channel_type\":\"channel\","
+                + "\"user\":\"U0STANDINUSER\",\"text\":\"" + id + "\",\"ts\":\"" + ts + "\"}}";
+    }
+
+    private static void postSigned(HttpClient http, String url, String id, String body) {
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("X-Slack-Request-Timestamp", timestamp)
+                .header("X-Slack-Signature", sign(timestamp, body))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenAccept(response -> {
+            if (response.statusCode() == 200) {
+                ackedAt.putIfAbsent(id, System.nanoTime());
+            } else {
+                System.err.println("HTTP ack failed for " + id + ": " + response.statusCode());
+            }
+        });
+    }
+
+    private static String sign(String timestamp, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SIGNING_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal(("v0:" + timestamp + ":" + body).getBytes(StandardCharsets.UTF_8));
+            return "v0=" + HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(String id, String payload);
+    }
+
+    private static class Result {
+        private final int expected;
+        private final long[] ack;
+        private final long[] processing;
+
+        Result(int expected, long[] ack, long[] processing) {
+            this.expected = expected;
+            this.ack = ack;
+            this.processing = processing;
+            Arrays.sort(ack);
+            Arrays.sort(processing);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ack p50=%.2fms p99=%.2fms max=%.2fms (%d/%d) | processing p50=%.1fms p99=%.1fms (%d/%d)",
+                    percentile(ack, 0.50), percentile(ack, 0.99), percentile(ack, 1.0), ack.length, expected,
+                    percentile(processing, 0.50), percentile(processing, 0.99), processing.length, expected);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
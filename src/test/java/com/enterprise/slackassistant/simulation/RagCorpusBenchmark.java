@@ -0,0 +1,200 @@
+package com.enterprise.slackassistant.simulation;
+
+import com.enterprise.slackassistant.service.RagCorpus;
+import com.enterprise.slackassistant.service.RagDocument;
+import com.enterprise.slackassistant.tools.RagCorpusConverter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Compares the two ways a product's RAG documents can be loaded: parsing the rag-docs JSON into
+ * {@link RagDocument}s on the heap, and memory-mapping the converted {@link RagCorpus}. Generates a
+ * synthetic corpus, converts it, then reports load time, heap and RSS growth, and the latency of
+ * fetching random passages into a prompt builder.
+ * <p>
+ * Run one mode per JVM for clean RSS numbers (the first run also generates the files, so repeat it);
+ * {@code --mode=both} runs the corpus first, then JSON.
+ * <p>
+ * Usage: {@code RagCorpusBenchmark [--docs=50000] [--content-chars=1500] [--fetches=100000]
+ * [--mode=both|json|corpus] [--dir=/tmp] [--seed=42]}
+ */
+public class RagCorpusBenchmark {
+
+    private static final String[] WORDS = {
+            "account", "access", "permission", "role", "report", "export", "dashboard", "admin", "console",
+            "user", "login", "error", "timeout", "sync", "data", "business", "view", "settings", "license",
+            "integration", "api", "token", "reset", "password", "team", "project", "invoice", "schedule"};
+
+    public static void main(String[] args) throws IOException {
+        int docs = 50_000;
+        int contentChars = 1500;
+        int fetches = 100_000;
+        String mode = "both";
+        Path dir = Path.of(System.getProperty("java.io.tmpdir"));
+        long seed = 42;
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            switch (kv[0]) {
+                case "docs" -> docs = Integer.parseInt(kv[1]);
+                case "content-chars" -> contentChars = Integer.parseInt(kv[1]);
+                case "fetches" -> fetches = Integer.parseInt(kv[1]);
+                case "mode" -> mode = kv[1];
+                case "dir" -> dir = Path.of(kv[1]);
+                case "seed" -> seed = Long.parseLong(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Path json = dir.resolve("rag-benchmark-" + docs + ".json");
+        Path corpusFile = dir.resolve("rag-benchmark-" + docs + ".ragc");
+        if (!Files.exists(json) || !Files.exists(corpusFile)) {
+            objectMapper.writeValue(json.toFile(), generate(docs, contentChars, new Random(seed)));
+            RagCorpusConverter.convert(objectMapper, json, corpusFile);
+        }
+
+        System.out.println("═══ RAG corpus benchmark ═══");
+        System.out.printf("Corpus              : %d docs, ~%d chars each | JSON %d MB, corpus %d MB%n",
+                docs, contentChars, Files.size(json) >> 20, Files.size(corpusFile) >> 20);
+
+        if (!mode.equals("json")) {
+            runCorpus(corpusFile, fetches, seed);
+        }
+        if (!mode.equals("corpus")) {
+            runJson(objectMapper, json, fetches, seed);
+        }
+    }
+
+    private static void runCorpus(Path file, int fetches, long seed) throws IOException {
+        Snapshot before = Snapshot.take();
+        long start = System.nanoTime();
+        RagCorpus corpus = RagCorpus.open(file);
+        long loadNanos = System.nanoTime() - start;
+        Snapshot loaded = Snapshot.take();
+
+        StringBuilder sb = new StringBuilder();
+        long[] latencies = fetchAll(fetches, corpus.size(), seed, doc -> {
+            sb.setLength(0);
+            corpus.appendContent(doc, sb);
+        });
+        Snapshot fetched = Snapshot.take();
+        report("mmap corpus", loadNanos, before, loaded, fetched, latencies);
+    }
+
+    private static void runJson(ObjectMapper objectMapper, Path file, int fetches, long seed) throws IOException {
+        Snapshot before = Snapshot.take();
+        long start = System.nanoTime();
+        List<RagDocument> documents = objectMapper.readValue(file.toFile(), new TypeReference<List<RagDocument>>() {});
+        long loadNanos = System.nanoTime() - start;
+        Snapshot loaded = Snapshot.take();
+
+        StringBuilder sb = new StringBuilder();
+        long[] latencies = fetchAll(fetches, documents.size(), seed, doc -> {
+            sb.setLength(0);
+            sb.append(documents.get(doc).getContent());
+        });
+        Snapshot fetched = Snapshot.take();
+        report("JSON on heap", loadNanos, before, loaded, fetched, latencies);
+    }
+
+    private static long[] fetchAll(int fetches, int size, long seed, IntConsumer fetch) {
+        Random random = new Random(seed);
+        long[] latencies = new long[fetches];
+        for (int i = 0; i < fetches; i++) {
+            int doc = random.nextInt(size);
+            long start = System.nanoTime();
+            fetch.accept(doc);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static void report(String label, long loadNanos, Snapshot before, Snapshot loaded, Snapshot fetched,
+                               long[] latencies) {
+        System.out.printf("%-20s: load %d ms | heap %+d MB%n",
+                label, TimeUnit.NANOSECONDS.toMillis(loadNanos), (loaded.heap - before.heap) >> 20);
+        System.out.printf("%-20s  RSS after load: %s | after fetches: %s%n", "",
+                rssDelta(before, loaded), rssDelta(before, fetched));
+        System.out.printf("%-20s  fetch n=%d p50=%.1f µs p99=%.1f µs max=%.1f µs%n", "",
+                latencies.length, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1000.0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(sorted.length * p) - 1);
+        return sorted[Math.max(0, index)] / 1000.0;
+    }
+
+    /** Anonymous RSS is process-private memory; file RSS is page cache shared with the OS and reclaimable. */
+    private static String rssDelta(Snapshot from, Snapshot to) {
+        if (from.rssAnonKb < 0 || to.rssAnonKb < 0) {
+            return "n/a";
+        }
+        return String.format("anon %+d MB, file %+d MB",
+                (to.rssAnonKb - from.rssAnonKb) >> 10, (to.rssFileKb - from.rssFileKb) >> 10);
+    }
+
+    private static List<RagDocument> generate(int docs, int contentChars, Random random) {
+        List<RagDocument> documents = new ArrayList<>(docs);
+        for (int i = 0; i < docs; i++) {
+            RagDocument doc = new RagDocument();
+            doc.setId(String.format("doc-%06d", i));
+            doc.setTitle("How to " + word(random) + " the " + word(random) + " " + word(random));
+            StringBuilder content = new StringBuilder(contentChars + 16);
+            while (content.length() < contentChars) {
+                content.append(word(random)).append(random.nextInt(10) == 0 ? ". " : " ");
+            }
+            doc.setContent(content.toString());
+            doc.setKeywords(List.of(word(random), word(random) + " " + word(random), word(random)));
+            documents.add(doc);
+        }
+        return documents;
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    /** Used heap after a GC, and resident set size from /proc (Linux only; -1 elsewhere). */
+    private static class Snapshot {
+        private final long heap;
+        private final long rssAnonKb;
+        private final long rssFileKb;
+
+        private Snapshot(long heap, long rssAnonKb, long rssFileKb) {
+            this.heap = heap;
+            this.rssAnonKb = rssAnonKb;
+            this.rssFileKb = rssFileKb;
+        }
+
+        static Snapshot take() {
+            System.gc();
+            Runtime rt = Runtime.getRuntime();
+            long anon = -1;
+            long file = -1;
+            try {
+                for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                    if (line.startsWith("RssAnon:")) {
+                        anon = Long.parseLong(line.replaceAll("\\D", ""));
+                    } else if (line.startsWith("RssFile:")) {
+                        file = Long.parseLong(line.replaceAll("\\D", ""));
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // not Linux
+            }
+            return new Snapshot(rt.totalMemory() - rt.freeMemory(), anon, file);
+        }
+    }
+}
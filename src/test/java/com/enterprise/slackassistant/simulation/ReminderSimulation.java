@@ -0,0 +1,233 @@
+package com.enterprise.slackassistant.simulation;
+
+import ch.qos.logback.classic.Level;
+import com.enterprise.slackassistant.service.ConversationService;
+import com.enterprise.slackassistant.service.MessageBufferService;
+import com.enterprise.slackassistant.service.ReminderDispatcher;
+import com.enterprise.slackassistant.service.ThreadReminderService;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic simulation of the reminder/closure pipeline on a {@link VirtualSchedulingClock}.
+ * Drives synthetic threads through ThreadReminderService, MessageBufferService, ConversationService and
+ * ReminderDispatcher (wired exactly as in production, minus Slack and the LLM) and reports reminder/closure
+ * timing accuracy, heap growth and the CPU cost of each periodic scheduler.
+ * <p>
+ * Usage: {@code ReminderSimulation [--threads=1000000] [--days=2] [--seed=42] [--follow-up-rate=0.3]}
+ */
+public class ReminderSimulation {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final long REMINDER_THRESHOLD_MINUTES = 1;
+    private static final long CLOSURE_THRESHOLD_MINUTES = 2;
+    private static final long CHECK_INTERVAL_MS = 3000;
+    private static final long LLM_LATENCY_MS = 2500;
+
+    private final VirtualSchedulingClock clock = new VirtualSchedulingClock(START);
+    private final ConversationService conversationService = new ConversationService(clock);
+    private final MessageBufferService bufferService = new MessageBufferService(clock);
+    private final ReminderDispatcher dispatcher = new ReminderDispatcher(clock, 50, 200, 2000, 1000);
+    private final ThreadReminderService reminderService =
+            new ThreadReminderService(dispatcher, clock, REMINDER_THRESHOLD_MINUTES, CLOSURE_THRESHOLD_MINUTES,
+                    CHECK_INTERVAL_MS);
+
+    private final Random random;
+    private final long totalThreads;
+    private final long arrivalWindowMs;
+    private final double followUpRate;
+
+    private final Map<String, Long> lastUserMillis = new HashMap<>();
+    private final LatencyHistogram reminderLateness = new LatencyHistogram();
+    private final LatencyHistogram closureLateness = new LatencyHistogram();
+    private long createdThreads;
+    private long staleReminders;
+    private long peakActiveThreads;
+    private long peakHeapBytes;
+
+    ReminderSimulation(long totalThreads, long days, long seed, double followUpRate) {
+        this.totalThreads = totalThreads;
+        this.arrivalWindowMs = TimeUnit.DAYS.toMillis(days);
+        this.random = new Random(seed);
+        this.followUpRate = followUpRate;
+
+        reminderService.setReminderCallback((threadKey, channelId, threadTs) -> {
+            Long lastUser = lastUserMillis.get(threadKey);
+            if (lastUser == null) {
+                return;
+            }
+            long lateness = now() - lastUser - TimeUnit.MINUTES.toMillis(REMINDER_THRESHOLD_MINUTES);
+            if (lateness < 0) {
+                // User replied after the reminder was queued; the dispatcher should have dropped it
+                staleReminders++;
+            } else {
+                reminderLateness.record(lateness);
+            }
+        });
+        reminderService.setCloseCallback((threadKey, channelId, threadTs) -> {
+            conversationService.closeConversation(threadKey);
+            Long lastUser = lastUserMillis.remove(threadKey);
+            if (lastUser != null) {
+                closureLateness.record(now() - lastUser - TimeUnit.MINUTES.toMillis(CLOSURE_THRESHOLD_MINUTES));
+            }
+        });
+    }
+
+    public static void main(String[] args) {
+        long threads = 1_000_000;
+        long days = 2;
+        long seed = 42;
+        double followUpRate = 0.3;
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            switch (kv[0]) {
+                case "threads" -> threads = Long.parseLong(kv[1]);
+                case "days" -> days = Long.parseLong(kv[1]);
+                case "seed" -> seed = Long.parseLong(kv[1]);
+                case "follow-up-rate" -> followUpRate = Double.parseDouble(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        // Per-thread INFO logging would dominate the run; keep only warnings from the services
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.enterprise.slackassistant")).setLevel(Level.WARN);
+
+        new ReminderSimulation(threads, days, seed, followUpRate).run();
+    }
+
+    void run() {
+        System.gc();
+        long baselineHeap = usedHeap();
+        long wallStart = System.nanoTime();
+
+        clock.schedule(this::arrive, nextArrivalDelay(), TimeUnit.MILLISECONDS);
+
+        // Sample memory and active threads once per virtual hour; drain a generous tail after the last arrival
+        Instant end = START.plusMillis(arrivalWindowMs).plus(Duration.ofMinutes(CLOSURE_THRESHOLD_MINUTES + 10));
+        for (Instant t = START; t.isBefore(end); t = t.plus(Duration.ofHours(1))) {
+            Instant sliceEnd = t.plus(Duration.ofHours(1)).isBefore(end) ? t.plus(Duration.ofHours(1)) : end;
+            clock.runUntil(sliceEnd);
+            peakActiveThreads = Math.max(peakActiveThreads, reminderService.getActiveThreadCount());
+            peakHeapBytes = Math.max(peakHeapBytes, usedHeap());
+        }
+
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - wallStart);
+        System.gc();
+        long finalHeap = usedHeap();
+
+        System.out.println("═══ Reminder/closure simulation ═══");
+        System.out.printf("Virtual time        : %s (%d threads, follow-up rate %.2f)%n",
+                Duration.between(START, clock.now()), createdThreads, followUpRate);
+        System.out.printf("Wall time           : %d ms%n", wallMs);
+        System.out.printf("Reminder lateness   : %s%n", reminderLateness.summary());
+        System.out.printf("Stale deliveries    : %d reminders posted after the user replied | %d stale events dropped%n",
+                staleReminders, dispatcher.getDroppedStaleCount());
+        System.out.printf("Closure lateness    : %s%n", closureLateness.summary());
+        System.out.printf("Unclosed threads    : %d (conversations %d, pending dispatches %d)%n",
+                reminderService.getActiveThreadCount(), conversationService.getActiveConversationCount(),
+                dispatcher.getPendingCount());
+        System.out.printf("Peak active threads : %d%n", peakActiveThreads);
+        System.out.printf("Heap (used)         : baseline %d MB, peak %d MB, final %d MB%n",
+                baselineHeap >> 20, peakHeapBytes >> 20, finalHeap >> 20);
+        System.out.printf("Failed tasks        : %d%n", clock.getFailedTaskCount());
+        clock.getPeriodicStats().forEach((period, stats) -> System.out.printf(
+                "Periodic every %6d ms : runs=%d cpu total=%d ms avg=%d µs max=%d µs%n",
+                period, stats.getRuns(), TimeUnit.NANOSECONDS.toMillis(stats.getTotalCpuNanos()),
+                TimeUnit.NANOSECONDS.toMicros(stats.getTotalCpuNanos() / Math.max(1, stats.getRuns())),
+                TimeUnit.NANOSECONDS.toMicros(stats.getMaxCpuNanos())));
+    }
+
+    /** Start one synthetic thread and schedule the next arrival. */
+    private void arrive() {
+        long id = createdThreads++;
+        String channelId = "C" + (id % 200);
+        String userId = "U" + id;
+        String threadTs = (now() / 1000) + "." + id;
+        String threadKey = conversationService.generateThreadKey(channelId, userId, threadTs);
+
+        userMessage(threadKey, channelId, userId, threadTs, true);
+
+        if (createdThreads < totalThreads) {
+            clock.schedule(this::arrive, nextArrivalDelay(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Mirrors the SlackConfig message handler: record activity, debounce, "call the LLM", record the reply. */
+    private void userMessage(String threadKey, String channelId, String userId, String threadTs, boolean mayFollowUp) {
+        reminderService.recordUserMessage(threadKey, channelId, threadTs);
+        lastUserMillis.put(threadKey, now());
+
+        bufferService.bufferMessage(userId, channelId, "synthetic message", threadTs, (combined, ctx) -> {
+            conversationService.addMessage(threadKey, "user", combined);
+            clock.schedule(() -> {
+                conversationService.addMessage(threadKey, "assistant", "synthetic answer");
+                reminderService.recordBotResponse(threadKey);
+
+                if (mayFollowUp && random.nextDouble() < followUpRate) {
+                    long replyDelayMs = 10_000 + (long) (random.nextDouble() * 80_000);
+                    clock.schedule(() -> userMessage(threadKey, channelId, userId, threadTs, false),
+                            replyDelayMs, TimeUnit.MILLISECONDS);
+                }
+            }, LLM_LATENCY_MS, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private long nextArrivalDelay() {
+        double meanMs = (double) arrivalWindowMs / totalThreads;
+        return (long) (-Math.log(1 - random.nextDouble()) * meanMs);
+    }
+
+    private long now() {
+        return clock.now().toEpochMilli();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /** Fixed 100 ms buckets up to 10 minutes; enough resolution for tick/jitter/pacing effects. */
+    private static class LatencyHistogram {
+        private static final long BUCKET_MS = 100;
+        private final long[] buckets = new long[6001];
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        void record(long ms) {
+            count++;
+            sum += ms;
+            min = Math.min(min, ms);
+            max = Math.max(max, ms);
+            int index = (int) Math.min(buckets.length - 1, Math.max(0, ms / BUCKET_MS));
+            buckets[index]++;
+        }
+
+        long percentile(double p) {
+            long target = (long) Math.ceil(count * p);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= target) {
+                    return (i + 1) * BUCKET_MS;
+                }
+            }
+            return max;
+        }
+
+        String summary() {
+            if (count == 0) {
+                return "n=0";
+            }
+            return String.format("n=%d min=%d ms avg=%d ms p50<=%d ms p99<=%d ms max=%d ms",
+                    count, min, sum / count, percentile(0.50), percentile(0.99), max);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.enterprise.slackassistant.simulation;
+
+import ch.qos.logback.classic.Level;
+import com.enterprise.slackassistant.config.HttpTransportConfig;
+import com.enterprise.slackassistant.config.HttpTransportProperties;
+import com.enterprise.slackassistant.config.HttpTransportWarmup;
+import com.enterprise.slackassistant.service.HttpTransportMetrics;
+import com.enterprise.slackassistant.standin.HttpsStandIn;
+import com.slack.api.SlackConfig;
+import com.slack.api.util.http.SlackHttpClient;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ssl.SslBundle;
+import org.springframework.boot.ssl.SslStoreBundle;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compares the shared transport from {@link HttpTransportConfig} against the clients the app would get
+ * without it - Slack's default OkHttp client and Spring Boot's default request factory - by sending the
+ * same bursty load to an {@link HttpsStandIn}. Each client gets its own SSLContext, so TLS sessions are
+ * not resumed across clients. Per client it reports:
+ * <ul>
+ *   <li>First call: latency of the first request minus the stand-in's delay, i.e. DNS + TCP + TLS setup.
+ *       The tuned client is measured both cold and after {@link HttpTransportWarmup} has run.</li>
+ *   <li>Connections: distinct TLS connections the stand-in saw serving the client's requests.</li>
+ *   <li>Call latency p50/p99/max over {@code --bursts} bursts of {@code --burst-size} concurrent requests,
+ *       {@code --idle-ms} apart.</li>
+ * </ul>
+ * Runs once against a stand-in speaking HTTP/2 and once against one limited to HTTP/1.1, where pool
+ * sizing decides how many connections survive between bursts. An untimed throwaway client runs first
+ * so JIT and TLS class loading are not charged to whichever client is measured first.
+ * <p>
+ * Usage: {@code TransportBenchmark [--bursts=20] [--burst-size=32] [--idle-ms=500] [--delay-ms=20]}
+ */
+public class TransportBenchmark {
+
+    // Embedded Tomcat logs through java.util.logging; keep a strong reference so the level sticks
+    private static final java.util.logging.Logger TOMCAT_LOG = java.util.logging.Logger.getLogger("org.apache");
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    public static void main(String[] args) throws Exception {
+        int bursts = 20;
+        int burstSize = 32;
+        long idleMs = 500;
+        long delayMs = 20;
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            switch (kv[0]) {
+                case "bursts" -> bursts = Integer.parseInt(kv[1]);
+                case "burst-size" -> burstSize = Integer.parseInt(kv[1]);
+                case "idle-ms" -> idleMs = Long.parseLong(kv[1]);
+                case "delay-ms" -> delayMs = Long.parseLong(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        TOMCAT_LOG.setLevel(java.util.logging.Level.SEVERE);
+
+        System.out.println("═══ Transport benchmark ═══");
+        System.out.printf("%d bursts of %d concurrent calls, %d ms apart, stand-in delay %d ms%n",
+                bursts, burstSize, idleMs, delayMs);
+
+        for (boolean http2 : new boolean[]{true, false}) {
+            HttpsStandIn standIn = new HttpsStandIn(0, delayMs, http2);
+            standIn.start();
+            String url = standIn.getBaseUrl() + "api/chat.postMessage";
+            KeyStore trustStore = standIn.getTrustStore();
+            System.out.printf("%nStand-in %s%n", http2 ? "HTTP/2 + HTTP/1.1" : "HTTP/1.1 only");
+
+            Transport throwaway = okHttp(new OkHttpClient(), trustStore);
+            runBursts(throwaway, url, "jvm-warmup", 5, burstSize, 0);
+
+            HttpTransportProperties properties = new HttpTransportProperties();
+            List<Runner> runners = List.of(
+                    new Runner("Slack default", () -> okHttp(SlackHttpClient.buildOkHttpClient(new SlackConfig()), trustStore)),
+                    new Runner("Spring default", () -> springDefault(trustStore)),
+                    new Runner("Tuned (cold)", () -> okHttp(tunedClient(properties), trustStore)),
+                    new Runner("Tuned + warm-up", () -> {
+                        OkHttpClient client = withTrustStore(tunedClient(properties).newBuilder(), trustStore).build();
+                        HttpTransportProperties warmupProperties = new HttpTransportProperties();
+                        warmupProperties.getWarmup().setEnabled(true);
+                        warmupProperties.getWarmup().setUrls(List.of(standIn.getBaseUrl()));
+                        new HttpTransportWarmup(client, warmupProperties, new HttpTransportMetrics()).run(null);
+                        return okHttp(client);
+                    }));
+
+            for (Runner runner : runners) {
+                Transport transport = runner.factory.create();
+                long firstNanos = timeCall(transport, url, runner.name);
+                long[] latencies = runBursts(transport, url, runner.name, bursts, burstSize, idleMs);
+                System.out.printf("  %-16s first call +%.1fms | connections=%d | %s%n",
+                        runner.name, Math.max(0, firstNanos / 1_000_000.0 - delayMs),
+                        standIn.getConnectionCount(runner.name), summarize(latencies));
+            }
+            standIn.stop();
+        }
+        System.exit(0);
+    }
+
+    private static OkHttpClient tunedClient(HttpTransportProperties properties) {
+        return new HttpTransportConfig().sharedHttpClient(properties, new HttpTransportMetrics());
+    }
+
+    private static Transport okHttp(OkHttpClient client, KeyStore trustStore) throws GeneralSecurityException {
+        return okHttp(withTrustStore(client.newBuilder(), trustStore).build());
+    }
+
+    private static Transport okHttp(OkHttpClient client) {
+        return (url, run) -> {
+            Request request = new Request.Builder().url(url).header("X-Run", run).build();
+            try (Response response = client.newCall(request).execute()) {
+                response.body().bytes();
+            }
+        };
+    }
+
+    private static OkHttpClient.Builder withTrustStore(OkHttpClient.Builder builder, KeyStore trustStore)
+            throws GeneralSecurityException {
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(trustStore);
+        X509TrustManager trustManager = (X509TrustManager) trustManagers.getTrustManagers()[0];
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new X509TrustManager[]{trustManager}, null);
+        return builder.sslSocketFactory(sslContext.getSocketFactory(), trustManager);
+    }
+
+    /** Whatever factory Spring Boot picks from the classpath when no RestClientCustomizer is registered. */
+    private static Transport springDefault(KeyStore trustStore) {
+        ClientHttpRequestFactory factory = ClientHttpRequestFactories.get(ClientHttpRequestFactorySettings.DEFAULTS
+                .withSslBundle(SslBundle.of(SslStoreBundle.of(null, null, trustStore))));
+        System.out.printf("  (Spring default resolved to %s)%n", factory.getClass().getSimpleName());
+        RestClient restClient = RestClient.builder().requestFactory(factory).build();
+        return (url, run) -> restClient.get().uri(url).header("X-Run", run).retrieve().toBodilessEntity();
+    }
+
+    private static long timeCall(Transport transport, String url, String run) {
+        long start = System.nanoTime();
+        try {
+            transport.call(url, run);
+        } catch (Exception e) {
+            System.err.printf("  %s call failed: %s%n", run, e.getMessage());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long[] runBursts(Transport transport, String url, String run, int bursts, int burstSize,
+                                    long idleMs) throws InterruptedException {
+        long[] latencies = new long[bursts * burstSize];
+        for (int b = 0; b < bursts; b++) {
+            List<CompletableFuture<Void>> calls = new ArrayList<>(burstSize);
+            for (int i = 0; i < burstSize; i++) {
+                int slot = b * burstSize + i;
+                calls.add(CompletableFuture.runAsync(() -> latencies[slot] = timeCall(transport, url, run), EXECUTOR));
+            }
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+            Thread.sleep(idleMs);
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static String summarize(long[] sorted) {
+        return String.format("p50=%.1fms p99=%.1fms max=%.1fms (%d calls)",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0), sorted.length);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface Transport {
+        void call(String url, String run) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface TransportFactory {
+        Transport create() throws Exception;
+    }
+
+    private static class Runner {
+        private final String name;
+        private final TransportFactory factory;
+
+        Runner(String name, TransportFactory factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+    }
+}
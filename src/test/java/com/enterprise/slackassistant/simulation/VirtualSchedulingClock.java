@@ -0,0 +1,167 @@
+package com.enterprise.slackassistant.simulation;
+
+import com.enterprise.slackassistant.service.SchedulingClock;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discrete-event {@link SchedulingClock}: time only moves when {@link #runUntil(Instant)} pops the next
+ * event, and every task (including {@link #execute(Runnable)}) runs on the caller's thread in time/insertion
+ * order. Periodic tasks are profiled for CPU time, grouped by their period.
+ */
+public class VirtualSchedulingClock implements SchedulingClock {
+
+    private static final ThreadMXBean THREAD_MX = ManagementFactory.getThreadMXBean();
+
+    private final PriorityQueue<Task> queue = new PriorityQueue<>();
+    private final Map<Long, PeriodicStats> periodicStats = new TreeMap<>();
+    private long nowMillis;
+    private long sequence;
+    private long failedTasks;
+
+    public VirtualSchedulingClock(Instant start) {
+        this.nowMillis = start.toEpochMilli();
+    }
+
+    @Override
+    public Instant now() {
+        return Instant.ofEpochMilli(nowMillis);
+    }
+
+    @Override
+    public Cancellable schedule(Runnable task, long delay, TimeUnit unit) {
+        return enqueue(new Task(task, nowMillis + unit.toMillis(delay), 0));
+    }
+
+    @Override
+    public Cancellable scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return enqueue(new Task(task, nowMillis + unit.toMillis(initialDelay), unit.toMillis(period)));
+    }
+
+    /** Tasks take no virtual time, so a fixed delay behaves exactly like a fixed rate here. */
+    @Override
+    public Cancellable scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        return scheduleAtFixedRate(task, initialDelay, delay, unit);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        enqueue(new Task(task, nowMillis, 0));
+    }
+
+    /** Run all events due up to and including {@code end}, then leave the clock at {@code end}. */
+    public void runUntil(Instant end) {
+        long endMillis = end.toEpochMilli();
+        while (!queue.isEmpty() && queue.peek().dueMillis <= endMillis) {
+            Task task = queue.poll();
+            if (task.cancelled) {
+                continue;
+            }
+            nowMillis = task.dueMillis;
+
+            if (task.periodMillis > 0) {
+                long cpuStart = THREAD_MX.getCurrentThreadCpuTime();
+                runSafely(task);
+                long cpuNanos = THREAD_MX.getCurrentThreadCpuTime() - cpuStart;
+                periodicStats.computeIfAbsent(task.periodMillis, p -> new PeriodicStats()).record(cpuNanos);
+                if (!task.cancelled) {
+                    task.dueMillis += task.periodMillis;
+                    enqueue(task);
+                }
+            } else {
+                runSafely(task);
+                task.done = true;
+            }
+        }
+        nowMillis = Math.max(nowMillis, endMillis);
+    }
+
+    public int getPendingTaskCount() {
+        return queue.size();
+    }
+
+    public long getFailedTaskCount() {
+        return failedTasks;
+    }
+
+    /** CPU profile of periodic tasks, keyed by period in milliseconds. */
+    public Map<Long, PeriodicStats> getPeriodicStats() {
+        return periodicStats;
+    }
+
+    private void runSafely(Task task) {
+        try {
+            task.runnable.run();
+        } catch (RuntimeException e) {
+            // Mirrors SystemSchedulingClock: the failure is counted and a periodic task keeps running
+            failedTasks++;
+        }
+    }
+
+    private Task enqueue(Task task) {
+        task.sequence = sequence++;
+        queue.add(task);
+        return task;
+    }
+
+    public static class PeriodicStats {
+        private long runs;
+        private long totalCpuNanos;
+        private long maxCpuNanos;
+
+        void record(long cpuNanos) {
+            runs++;
+            totalCpuNanos += cpuNanos;
+            maxCpuNanos = Math.max(maxCpuNanos, cpuNanos);
+        }
+
+        public long getRuns() {
+            return runs;
+        }
+
+        public long getTotalCpuNanos() {
+            return totalCpuNanos;
+        }
+
+        public long getMaxCpuNanos() {
+            return maxCpuNanos;
+        }
+    }
+
+    private static class Task implements Cancellable, Comparable<Task> {
+        private final Runnable runnable;
+        private final long periodMillis;
+        private long dueMillis;
+        private long sequence;
+        private boolean cancelled;
+        private boolean done;
+
+        Task(Runnable runnable, long dueMillis, long periodMillis) {
+            this.runnable = runnable;
+            this.dueMillis = dueMillis;
+            this.periodMillis = periodMillis;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done || cancelled;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byTime = Long.compare(dueMillis, other.dueMillis);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
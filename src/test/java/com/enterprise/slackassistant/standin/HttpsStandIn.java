@@ -0,0 +1,164 @@
+package com.enterprise.slackassistant.standin;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+import org.apache.tomcat.util.net.SSLHostConfig;
+import org.apache.tomcat.util.net.SSLHostConfigCertificate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTPS stand-in for a remote API (Slack, OpenAI): an embedded Tomcat with a throwaway self-signed
+ * certificate for localhost, HTTP/2 over ALPN unless disabled, answering every request with a small JSON
+ * body after a fixed delay. Counts the TLS connections each client opens, keyed by the {@code X-Run}
+ * request header, so transports can be compared on connection reuse.
+ * <p>
+ * Clients must trust {@link #getTrustStore()}. Usage: {@code HttpsStandIn [--port=8443] [--delay-ms=20]
+ * [--http2=true]}
+ */
+public class HttpsStandIn {
+
+    private static final String PASSWORD = "stand-in";
+    private static final String ALIAS = "stand-in";
+
+    private final Tomcat tomcat = new Tomcat();
+    private final Path keyStoreFile;
+    private final long delayMs;
+    private final Map<String, Set<Integer>> connectionsByRun = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+
+    public HttpsStandIn(int port, long delayMs, boolean http2) throws IOException, InterruptedException {
+        this.delayMs = delayMs;
+        Path baseDir = Files.createTempDirectory("https-stand-in");
+        this.keyStoreFile = generateKeyStore(baseDir);
+
+        tomcat.setBaseDir(baseDir.toString());
+        Connector connector = new Connector("org.apache.coyote.http11.Http11NioProtocol");
+        connector.setPort(port);
+        connector.setScheme("https");
+        connector.setSecure(true);
+        connector.setProperty("SSLEnabled", "true");
+        SSLHostConfig sslHostConfig = new SSLHostConfig();
+        SSLHostConfigCertificate certificate =
+                new SSLHostConfigCertificate(sslHostConfig, SSLHostConfigCertificate.Type.RSA);
+        certificate.setCertificateKeystoreFile(keyStoreFile.toString());
+        certificate.setCertificateKeystorePassword(PASSWORD);
+        certificate.setCertificateKeyAlias(ALIAS);
+        sslHostConfig.addCertificate(certificate);
+        connector.addSslHostConfig(sslHostConfig);
+        if (http2) {
+            connector.addUpgradeProtocol(new Http2Protocol());
+        }
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "standIn", new StandInServlet());
+        context.addServletMappingDecoded("/*", "standIn");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 8443;
+        long delayMs = 20;
+        boolean http2 = true;
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            switch (kv[0]) {
+                case "port" -> port = Integer.parseInt(kv[1]);
+                case "delay-ms" -> delayMs = Long.parseLong(kv[1]);
+                case "http2" -> http2 = Boolean.parseBoolean(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        HttpsStandIn standIn = new HttpsStandIn(port, delayMs, http2);
+        standIn.start();
+        System.out.printf("HTTPS stand-in listening on %s (delay %d ms, http2=%s, keystore %s, password '%s')%n",
+                standIn.getBaseUrl(), delayMs, http2, standIn.keyStoreFile, PASSWORD);
+    }
+
+    public void start() throws Exception {
+        tomcat.start();
+    }
+
+    public void stop() throws Exception {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    public String getBaseUrl() {
+        return "https://localhost:" + tomcat.getConnector().getLocalPort() + "/";
+    }
+
+    /** Trust store holding the stand-in's self-signed certificate. */
+    public KeyStore getTrustStore() throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keyStoreFile)) {
+            keyStore.load(in, PASSWORD.toCharArray());
+        }
+        KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        trustStore.load(null, null);
+        trustStore.setCertificateEntry(ALIAS, keyStore.getCertificate(ALIAS));
+        return trustStore;
+    }
+
+    /** TLS connections opened by requests carrying {@code X-Run: run}. */
+    public int getConnectionCount(String run) {
+        Set<Integer> ports = connectionsByRun.get(run);
+        return ports != null ? ports.size() : 0;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    private static Path generateKeyStore(Path dir) throws IOException, InterruptedException {
+        Path file = dir.resolve("stand-in.p12");
+        String keytool = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", ALIAS, "-keyalg", "RSA",
+                "-keysize", "2048", "-validity", "1", "-dname", "CN=localhost",
+                "-ext", "SAN=dns:localhost,ip:127.0.0.1", "-storetype", "PKCS12",
+                "-keystore", file.toString(), "-storepass", PASSWORD, "-keypass", PASSWORD)
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+            throw new IOException("keytool failed: " + output);
+        }
+        return file;
+    }
+
+    private class StandInServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            requests.increment();
+            String run = req.getHeader("X-Run");
+            if (run != null) {
+                connectionsByRun.computeIfAbsent(run, r -> ConcurrentHashMap.newKeySet()).add(req.getRemotePort());
+            }
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"ok\":true,\"protocol\":\"" + req.getProtocol() + "\"}").getBytes(StandardCharsets.UTF_8);
+            resp.setContentType("application/json");
+            resp.setContentLength(body.length);
+            resp.getOutputStream().write(body);
+        }
+    }
+}
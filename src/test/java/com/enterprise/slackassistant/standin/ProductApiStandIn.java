@@ -0,0 +1,121 @@
+package com.enterprise.slackassistant.standin;
+
+import com.enterprise.slackassistant.config.ProductProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for the product APIs. Answers {@code GET /<product>/<api>?userId=...} with a small JSON body
+ * after the product's configured {@code mock-delay-ms}, so ProductApiService exercises its real HTTP path.
+ * Point a product's api-base-url at {@code http://localhost:<port>/<product>}.
+ * <p>
+ * Usage: {@code ProductApiStandIn [--port=8090] [--config=application.yml] [--delay-ms=50]}; delays are read
+ * from the config's {@code products.definitions}, and {@code --delay-ms} overrides them for every product.
+ */
+public class ProductApiStandIn {
+
+    private final HttpServer server;
+    private final long defaultDelayMs;
+    private final Map<String, Long> delayByProduct;
+    private final LongAdder requests = new LongAdder();
+
+    public ProductApiStandIn(int port, long delayMs) throws IOException {
+        this(port, delayMs, Map.of());
+    }
+
+    /** Serves each product after its mock-delay-ms; products without one use {@code defaultDelayMs}. */
+    public ProductApiStandIn(int port, ProductProperties products, long defaultDelayMs) throws IOException {
+        this(port, defaultDelayMs, configuredDelays(products));
+    }
+
+    private ProductApiStandIn(int port, long defaultDelayMs, Map<String, Long> delayByProduct) throws IOException {
+        this.defaultDelayMs = defaultDelayMs;
+        this.delayByProduct = delayByProduct;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8090;
+        Long delayMs = null;
+        Resource config = new ClassPathResource("application.yml");
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            switch (kv[0]) {
+                case "port" -> port = Integer.parseInt(kv[1]);
+                case "config" -> config = new FileSystemResource(kv[1]);
+                case "delay-ms" -> delayMs = Long.parseLong(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        ProductApiStandIn standIn = delayMs != null
+                ? new ProductApiStandIn(port, delayMs)
+                : new ProductApiStandIn(port, loadProducts(config), 0);
+        standIn.start();
+        System.out.printf("Product API stand-in listening on http://localhost:%d/<product>/<api> (delays %s, default %d ms)%n",
+                standIn.getPort(), standIn.delayByProduct, standIn.defaultDelayMs);
+    }
+
+    /** Binds {@code products.*} from a Spring Boot YAML file. */
+    public static ProductProperties loadProducts(Resource yaml) throws IOException {
+        Binder binder = new Binder(ConfigurationPropertySources.from(new YamlPropertySourceLoader().load("config", yaml)));
+        return binder.bind("products", ProductProperties.class).orElseGet(ProductProperties::new);
+    }
+
+    private static Map<String, Long> configuredDelays(ProductProperties products) {
+        Map<String, Long> delays = new HashMap<>();
+        products.getDefinitions().forEach((productId, def) -> delays.put(productId, def.getMockDelayMs()));
+        return delays;
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        try {
+            Thread.sleep(path.length > 1 ? delayByProduct.getOrDefault(path[1], defaultDelayMs) : defaultDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String query = exchange.getRequestURI().getQuery();
+        String body = String.format("{\"product\":\"%s\",\"api\":\"%s\",\"query\":\"%s\",\"status\":\"ok\"}",
+                path.length > 1 ? path[1] : "", path.length > 2 ? path[2] : "", query != null ? query : "");
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
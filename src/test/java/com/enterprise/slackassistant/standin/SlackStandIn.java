@@ -0,0 +1,161 @@
+package com.enterprise.slackassistant.standin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the parts of Slack the ingestion paths talk to: a Web API on
+ * {@code http://localhost:<port>/api/} (auth.test, apps.connections.open, chat.postMessage) and a Socket Mode
+ * WebSocket endpoint that apps.connections.open hands out. Envelopes are pushed with {@link #pushEnvelope};
+ * acks and posted messages are reported to the listeners given at construction.
+ * <p>
+ * Point {@code slack.methods-endpoint-url-prefix} at {@link #getApiUrl()}.
+ */
+public class SlackStandIn {
+
+    public static final String TEAM_ID = "T0STANDIN";
+    public static final String BOT_USER_ID = "U0STANDINBOT";
+
+    private static final Pattern ENVELOPE_ID = Pattern.compile("\"envelope_id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpServer api;
+    private final SocketModeServer socketMode;
+    private final Consumer<String> onAck;
+    private final Consumer<String> onPost;
+    private final List<WebSocket> connections = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextConnection = new AtomicInteger();
+    private final AtomicInteger nextTs = new AtomicInteger();
+
+    /**
+     * @param onAck  called with the envelope id of each ack received over Socket Mode
+     * @param onPost called with the text of each chat.postMessage
+     */
+    public SlackStandIn(Consumer<String> onAck, Consumer<String> onPost) throws IOException {
+        this.onAck = onAck;
+        this.onPost = onPost;
+        this.api = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        api.createContext("/api/", this::handleApi);
+        api.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.socketMode = new SocketModeServer();
+    }
+
+    public void start() throws InterruptedException {
+        api.start();
+        socketMode.start();
+        if (!socketMode.started.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Socket Mode stand-in did not start");
+        }
+    }
+
+    public void stop() throws InterruptedException {
+        api.stop(0);
+        socketMode.stop(1000);
+    }
+
+    public String getApiUrl() {
+        return "http://localhost:" + api.getAddress().getPort() + "/api/";
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /** Sends an envelope over the open Socket Mode connections in turn. */
+    public void pushEnvelope(String envelopeJson) {
+        if (connections.isEmpty()) {
+            throw new IllegalStateException("No Socket Mode connection open");
+        }
+        connections.get(Math.floorMod(nextConnection.getAndIncrement(), connections.size())).send(envelopeJson);
+    }
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestURI().getPath().substring("/api/".length());
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String response = switch (method) {
+            case "auth.test" -> String.format(
+                    "{\"ok\":true,\"url\":\"https://standin.slack.com/\",\"team\":\"Stand-in\",\"user\":\"assistant\","
+                            + "\"team_id\":\"%s\",\"user_id\":\"%s\",\"bot_id\":\"B0STANDIN\"}", TEAM_ID, BOT_USER_ID);
+            case "apps.connections.open" -> String.format(
+                    "{\"ok\":true,\"url\":\"ws://localhost:%d/link\"}", socketMode.getPort());
+            case "chat.postMessage" -> {
+                onPost.accept(formParam(body, "text"));
+                yield String.format("{\"ok\":true,\"channel\":\"%s\",\"ts\":\"1700000000.%06d\"}",
+                        formParam(body, "channel"), nextTs.incrementAndGet());
+            }
+            default -> "{\"ok\":true}";
+        };
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String formParam(String body, String name) {
+        for (String pair : body.split("&")) {
+            String[] kv = pair.split("=", 2);
+            if (kv.length == 2 && kv[0].equals(name)) {
+                return URLDecoder.decode(kv[1], StandardCharsets.UTF_8);
+            }
+        }
+        return "";
+    }
+
+    private class SocketModeServer extends WebSocketServer {
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        SocketModeServer() {
+            super(new InetSocketAddress("localhost", 0));
+            setReuseAddr(true);
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            connections.add(conn);
+            conn.send("{\"type\":\"hello\",\"num_connections\":" + connections.size()
+                    + ",\"debug_info\":{\"host\":\"stand-in\"},\"connection_info\":{\"app_id\":\"A0STANDIN\"}}");
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+            connections.remove(conn);
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            Matcher matcher = ENVELOPE_ID.matcher(message);
+            if (matcher.find()) {
+                onAck.accept(matcher.group(1));
+            }
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+            System.err.println("Socket Mode stand-in error: " + ex.getMessage());
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+    }
+}